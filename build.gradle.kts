@@ -1,47 +1,50 @@
 plugins {
-    `java-library`
-    `maven-publish`
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
 
-group = "cc.mewcraft"
-version = "2.0-SNAPSHOT"
+subprojects {
+    apply(plugin = "java-library")
+    apply(plugin = "maven-publish")
 
-repositories {
-    mavenCentral()
-    maven("https://repo.mewcraft.cc/releases/")
-    maven("https://repo.papermc.io/repository/maven-public/")
-}
+    group = "cc.mewcraft"
+    version = "2.0-SNAPSHOT"
 
-dependencies {
-    compileOnly("io.papermc.paper", "paper-api", "1.20.4-R0.1-SNAPSHOT")
-    compileOnly("org.checkerframework", "checker-qual", "3.42.0")
-    testImplementation(platform("org.junit:junit-bom:5.10.0"))
-    testImplementation("org.junit.jupiter:junit-jupiter")
-    testImplementation("com.github.seeseemelk:MockBukkit-v1.20:3.86.0")
-}
+    repositories {
+        mavenCentral()
+        maven("https://repo.mewcraft.cc/releases/")
+        maven("https://repo.papermc.io/repository/maven-public/")
+    }
 
-tasks.test {
-    useJUnitPlatform()
-}
+    dependencies {
+        "compileOnly"("org.checkerframework", "checker-qual", "3.42.0")
+        "testImplementation"(platform("org.junit:junit-bom:5.10.0"))
+        "testImplementation"("org.junit.jupiter:junit-jupiter")
+    }
 
-java {
-    withSourcesJar()
-    toolchain.languageVersion.set(JavaLanguageVersion.of(17))
-}
+    tasks.withType<Test> {
+        useJUnitPlatform()
+    }
 
-publishing {
-    repositories {
-        maven("https://repo.mewcraft.cc/releases") {
-            credentials {
-                username = providers.gradleProperty("nyaadanbou.mavenUsername").orNull
-                password = providers.gradleProperty("nyaadanbou.mavenPassword").orNull
+    configure<JavaPluginExtension> {
+        withSourcesJar()
+        toolchain.languageVersion.set(JavaLanguageVersion.of(17))
+    }
+
+    configure<PublishingExtension> {
+        repositories {
+            maven("https://repo.mewcraft.cc/releases") {
+                credentials {
+                    username = providers.gradleProperty("nyaadanbou.mavenUsername").orNull
+                    password = providers.gradleProperty("nyaadanbou.mavenPassword").orNull
+                }
             }
         }
-    }
 
-    publications {
-        create<MavenPublication>("maven") {
-            from(components["java"])
+        publications {
+            create<MavenPublication>("maven") {
+                artifactId = "minecraft-versions-${project.name}"
+                from(components["java"])
+            }
         }
     }
 }
@@ -0,0 +1,6 @@
+// The core has no runtime dependencies, so it can be used by proxies and offline tools,
+// and benchmarked without a server on the classpath.
+plugins {
+    `java-library`
+    id("me.champeau.jmh")
+}
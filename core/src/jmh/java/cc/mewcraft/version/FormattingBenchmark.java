@@ -0,0 +1,74 @@
+package cc.mewcraft.version;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached canonical strings of {@link MinecraftVersion} against formatting them on every call.
+ * <p>
+ * Run with {@code ./gradlew :core:jmh}, and add {@code -prof gc} to the JMH arguments to see the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormattingBenchmark {
+
+    private MinecraftVersion release;
+    private MinecraftVersion preRelease;
+    private StringBuilder builder;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        this.release = MinecraftVersion.parse("1.20.4");
+        this.preRelease = MinecraftVersion.parse("1.21-pre1");
+        this.builder = new StringBuilder(64);
+        this.buffer = ByteBuffer.allocate(64);
+    }
+
+    /**
+     * The formatting that {@link MinecraftVersion#getVersion()} used to do on every call.
+     */
+    @Benchmark
+    public String formatEveryCall() {
+        MinecraftVersion version = this.preRelease;
+        return String.format("%s.%s.%s-%s%s", version.getMajor(), version.getMinor(), version.getBuild(),
+                version.getDevelopmentStage(), version.isSnapshot() ? version.getSnapshot() : "");
+    }
+
+    @Benchmark
+    public String getVersion() {
+        return this.preRelease.getVersion();
+    }
+
+    @Benchmark
+    public String toStringRelease() {
+        return this.release.toString();
+    }
+
+    @Benchmark
+    public StringBuilder appendTo() {
+        this.builder.setLength(0);
+        return this.preRelease.appendTo(this.builder);
+    }
+
+    @Benchmark
+    public ByteBuffer writeTo() {
+        this.buffer.clear();
+        return this.preRelease.writeTo(this.buffer);
+    }
+}
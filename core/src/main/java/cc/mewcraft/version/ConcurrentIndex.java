@@ -0,0 +1,169 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An index which can be updated at runtime, created by {@link Indexing#concurrent()}.
+ * <p>
+ * Reads go to an immutable snapshot of the index behind a volatile field, so they are wait-free.
+ * Updates are collected in a {@link Batch} and published at once by copying the snapshot, so
+ * readers see either none or all of the changes of a batch. Like {@link Indexing#buildMultiple(Iterable, Function)},
+ * an update fails if an index would be associated with two values.
+ *
+ * @param <I> the index type
+ * @param <R> the actual (value) type
+ */
+@DefaultQualifier(NonNull.class)
+public final class ConcurrentIndex<I, R> {
+
+    private volatile Map<I, R> snapshot;
+
+    ConcurrentIndex(Map<I, R> snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Gets the value associated with the index.
+     *
+     * @param index the index
+     * @return the value, or null if there is none
+     */
+    public @Nullable R get(I index) {
+        return this.snapshot.get(index);
+    }
+
+    /**
+     * Gets the current contents of the index.
+     *
+     * @return an immutable snapshot of the index
+     */
+    public Map<I, R> snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Associates a value with the indexes given by the indexing function, as a batch of its own.
+     *
+     * @param value         the value
+     * @param indexFunction the index function
+     * @throws IllegalStateException if an index is already associated with a value
+     */
+    public void register(R value, Function<? super R, ? extends Iterable<? extends I>> indexFunction) {
+        batch().putMultiple(Collections.singleton(value), indexFunction).commit();
+    }
+
+    /**
+     * Starts a batch of updates.
+     *
+     * @return the batch
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * A batch of updates to the index, which are published by {@link #commit()}.
+     * <p>
+     * Removals are applied before additions. This class is not thread-safe.
+     */
+    public final class Batch {
+
+        private final Map<I, R> additions = new LinkedHashMap<>();
+        private final List<I> removals = new ArrayList<>();
+        private boolean committed;
+
+        private Batch() {
+        }
+
+        /**
+         * Adds an association of the index with the value.
+         *
+         * @param index the index
+         * @param value the value
+         * @return this batch
+         * @throws IllegalStateException if this batch already associates the index with a value
+         */
+        public Batch put(I index, R value) {
+            Objects.requireNonNull(index, "index");
+            Objects.requireNonNull(value, "value");
+            Indexing.putIndexes(this.additions, value, Collections.singleton(index));
+            return this;
+        }
+
+        /**
+         * Adds the given values, indexed by the indexing function.
+         *
+         * @param values        the values
+         * @param indexFunction the index function
+         * @return this batch
+         * @throws IllegalStateException if this batch already associates an index with a value
+         */
+        public Batch putAll(Iterable<? extends R> values, Function<? super R, ? extends I> indexFunction) {
+            Objects.requireNonNull(indexFunction, "indexFunction");
+            return putMultiple(values, r -> Collections.singleton(indexFunction.apply(r)));
+        }
+
+        /**
+         * Adds the given values, indexed by the indexing function.
+         *
+         * @param values        the values
+         * @param indexFunction the index function
+         * @return this batch
+         * @throws IllegalStateException if this batch already associates an index with a value
+         */
+        public Batch putMultiple(Iterable<? extends R> values, Function<? super R, ? extends Iterable<? extends I>> indexFunction) {
+            Objects.requireNonNull(values, "values");
+            Objects.requireNonNull(indexFunction, "indexFunction");
+            for (R value : values) {
+                Indexing.putIndexes(this.additions, value, indexFunction.apply(value));
+            }
+            return this;
+        }
+
+        /**
+         * Removes the association of the index, if there is one.
+         *
+         * @param index the index
+         * @return this batch
+         */
+        public Batch remove(I index) {
+            this.removals.add(Objects.requireNonNull(index, "index"));
+            return this;
+        }
+
+        /**
+         * Publishes the updates of this batch.
+         * <p>
+         * If an update fails, none of the updates are published.
+         *
+         * @throws IllegalStateException if an index would be associated with two values, or
+         *                               if the batch has already been committed
+         */
+        public void commit() {
+            if (this.committed) {
+                throw new IllegalStateException("Batch has already been committed");
+            }
+            synchronized (ConcurrentIndex.this) {
+                Map<I, R> map = new LinkedHashMap<>(ConcurrentIndex.this.snapshot);
+                for (I index : this.removals) {
+                    map.remove(index);
+                }
+                for (Map.Entry<I, R> entry : this.additions.entrySet()) {
+                    Indexing.putIndexes(map, entry.getValue(), Collections.singleton(entry.getKey()));
+                }
+                ConcurrentIndex.this.snapshot = Collections.unmodifiableMap(map);
+            }
+            this.committed = true;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * The development stages of a {@link MinecraftVersion}, in the order they come before a release.
+ * <p>
+ * Comparing two stages is a comparison of their {@link #ordinal()}s.
+ */
+@DefaultQualifier(NonNull.class)
+public enum DevelopmentStage {
+    /**
+     * A development stage that is not recognized, such as {@code 1.20.4-foo}.
+     * <p>
+     * Unknown stages are ordered among themselves by their raw string.
+     */
+    UNKNOWN,
+    /**
+     * A weekly snapshot, such as {@code 24w33a}.
+     */
+    SNAPSHOT,
+    /**
+     * A pre-release, such as {@code 1.21-pre1}.
+     */
+    PRE_RELEASE,
+    /**
+     * A release candidate, such as {@code 1.21-rc1}.
+     */
+    RELEASE_CANDIDATE,
+    /**
+     * Not in development: a release.
+     */
+    RELEASE;
+
+    private static final String SNAPSHOT_STAGE = "snapshot";
+    private static final String PRE_RELEASE_PREFIX = "pre";
+    private static final String RELEASE_CANDIDATE_PREFIX = "rc";
+
+    /**
+     * Parses the development stage from its raw string.
+     *
+     * @param development the raw development stage, or null for a release
+     * @return the development stage
+     */
+    static DevelopmentStage parse(@Nullable String development) {
+        if (development == null) {
+            return RELEASE;
+        }
+        if (development.equals(SNAPSHOT_STAGE)) {
+            return SNAPSHOT;
+        }
+        if (development.startsWith(PRE_RELEASE_PREFIX) && parseNumber(development, PRE_RELEASE_PREFIX.length()) >= 0) {
+            return PRE_RELEASE;
+        }
+        if (development.startsWith(RELEASE_CANDIDATE_PREFIX) && parseNumber(development, RELEASE_CANDIDATE_PREFIX.length()) >= 0) {
+            return RELEASE_CANDIDATE;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Gets the number of the development stage, e.g. {@code 2} for {@code pre2}.
+     *
+     * @param development the raw development stage
+     * @return the number, or zero if the stage has no number
+     */
+    int number(String development) {
+        return switch (this) {
+            case PRE_RELEASE -> parseNumber(development, PRE_RELEASE_PREFIX.length());
+            case RELEASE_CANDIDATE -> parseNumber(development, RELEASE_CANDIDATE_PREFIX.length());
+            default -> 0;
+        };
+    }
+
+    /**
+     * Parses the canonical decimal number (no sign, no leading zeros) at the end of the string.
+     *
+     * @return the number, or -1 if there is no such number
+     */
+    private static int parseNumber(String string, int start) {
+        int length = string.length();
+        if (start == length || length - start > 9 || (string.charAt(start) == '0' && length - start > 1)) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = start; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+}
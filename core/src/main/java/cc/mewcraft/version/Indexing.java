@@ -25,13 +25,12 @@
 
 package cc.mewcraft.version;
 
-import com.google.common.collect.ImmutableMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
@@ -73,17 +72,26 @@ public final class Indexing {
         Objects.requireNonNull(values, "values");
         Objects.requireNonNull(indexFunction, "indexFunction");
 
-        Map<I, R> map = new HashMap<>();
+        // Keep the iteration order of the values; Map.copyOf would not
+        Map<I, R> map = new LinkedHashMap<>();
         for (R value : values) {
-            Iterable<? extends I> indexes = indexFunction.apply(value);
-            for (I index : indexes) {
-                R prev = map.put(index, value);
-                if (prev != null) {
-                    throw new IllegalStateException("An index for " + value + " (" + index + ") was already associated with " + prev);
-                }
+            putIndexes(map, value, indexFunction.apply(value));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Associates the value with each of the indexes in the map.
+     *
+     * @throws IllegalStateException if an index is already associated with a value
+     */
+    static <I, R> void putIndexes(Map<I, R> map, R value, Iterable<? extends I> indexes) {
+        for (I index : indexes) {
+            R prev = map.putIfAbsent(index, value);
+            if (prev != null) {
+                throw new IllegalStateException("An index for " + value + " (" + index + ") was already associated with " + prev);
             }
         }
-        return ImmutableMap.copyOf(map);
     }
 
     /**
@@ -130,4 +138,43 @@ public final class Indexing {
         }
         return build(enumConstants, Enum::name);
     }
+
+    /**
+     * Creates an empty index which can be updated at runtime.
+     *
+     * @param <I> the index type
+     * @param <R> the actual (value) type
+     * @return the index
+     */
+    public static <I, R> ConcurrentIndex<I, R> concurrent() {
+        return new ConcurrentIndex<>(Map.of());
+    }
+
+    /**
+     * Creates an index which can be updated at runtime, initially holding the given values
+     * indexed by the indexing function.
+     *
+     * @param values        the values to index
+     * @param indexFunction the index function
+     * @param <I>           the index type
+     * @param <R>           the actual (value) type
+     * @return the index
+     */
+    public static <I, R> ConcurrentIndex<I, R> concurrent(Iterable<? extends R> values, Function<? super R, ? extends I> indexFunction) {
+        return new ConcurrentIndex<>(build(values, indexFunction));
+    }
+
+    /**
+     * Creates an index which can be updated at runtime, initially holding the given values
+     * indexed by the indexing function.
+     *
+     * @param values        the values to index
+     * @param indexFunction the index function
+     * @param <I>           the index type
+     * @param <R>           the actual (value) type
+     * @return the index
+     */
+    public static <I, R> ConcurrentIndex<I, R> concurrentMultiple(Iterable<? extends R> values, Function<? super R, ? extends Iterable<? extends I>> indexFunction) {
+        return new ConcurrentIndex<>(buildMultiple(values, indexFunction));
+    }
 }
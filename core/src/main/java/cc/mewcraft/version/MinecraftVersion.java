@@ -29,10 +29,14 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Comparator;
-import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Encapsulates a release version of Minecraft.
@@ -42,13 +46,7 @@ import java.util.Objects;
 @DefaultQualifier(NonNull.class)
 public final class MinecraftVersion implements Comparable<MinecraftVersion> {
 
-    public static final Comparator<MinecraftVersion> COMPARATOR = Comparator.nullsFirst(Comparator
-            .comparingInt(MinecraftVersion::getMajor)
-            .thenComparingInt(MinecraftVersion::getMinor)
-            .thenComparingInt(MinecraftVersion::getBuild)
-            .thenComparing(Comparator.nullsLast(Comparator.comparing(MinecraftVersion::getDevelopmentStage)))
-            .thenComparing(Comparator.nullsFirst(Comparator.comparing(MinecraftVersion::getSnapshot)))
-    );
+    public static final Comparator<MinecraftVersion> COMPARATOR = Comparator.nullsFirst(Comparator.naturalOrder());
 
     /**
      * The newest known version of Minecraft
@@ -60,13 +58,35 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
      */
     static final String MINECRAFT_LAST_RELEASE_DATE = "2024-08-08";
 
+    // The above, parsed once for the snapshot heuristic in parseUncached()
+    private static final MinecraftVersion NEWEST_VERSION = parseUncached(NEWEST_MINECRAFT_VERSION, false);
+    private static final long LAST_RELEASE_TIME = LocalDate.parse(MINECRAFT_LAST_RELEASE_DATE)
+            .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    /**
+     * The maximum number of distinct version strings kept in the parse cache.
+     */
+    private static final int PARSE_CACHE_SIZE = 1024;
+
+    /**
+     * Successfully parsed versions, keyed by their input string.
+     * <p>
+     * The same handful of version strings are parsed over and over again (the runtime version,
+     * the client versions of connected players, ...), so we keep the results around. The cache
+     * is cleared once it is full, so that arbitrary input can't make it grow without bound, while
+     * the versions in use find their way back in.
+     */
+    private static final ConcurrentMap<String, MinecraftVersion> PARSE_CACHE = new ConcurrentHashMap<>();
+
     /**
      * Gets the {@link MinecraftVersion} of the runtime server.
+     * <p>
+     * The version is detected by the {@link RuntimeVersionProvider}s on the first call.
      *
      * @return the runtime minecraft version.
      */
     public static MinecraftVersion getRuntimeVersion() {
-        return MinecraftVersions.RUNTIME_VERSION;
+        return MinecraftVersions.runtimeVersion();
     }
 
     /**
@@ -101,6 +121,27 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
      * @throws IllegalArgumentException if unable to parse
      */
     public static MinecraftVersion parse(String version, boolean parseSnapshot) throws IllegalArgumentException {
+        MinecraftVersion cached = PARSE_CACHE.get(version);
+        if (cached != null && (parseSnapshot || !cached.isSnapshot())) {
+            return cached;
+        }
+
+        MinecraftVersion parsed = parseUncached(version, parseSnapshot);
+        if (PARSE_CACHE.size() >= PARSE_CACHE_SIZE) {
+            PARSE_CACHE.clear();
+        }
+        PARSE_CACHE.putIfAbsent(version, parsed);
+        return parsed;
+    }
+
+    /**
+     * Parses a {@link MinecraftVersion} from a version string, bypassing the parse cache.
+     *
+     * @param version       the version in text form.
+     * @param parseSnapshot if the implementation should try to parse a snapshot version
+     * @throws IllegalArgumentException if unable to parse
+     */
+    static MinecraftVersion parseUncached(String version, boolean parseSnapshot) throws IllegalArgumentException {
         String[] parts = version.split("-");
         SnapshotVersion snapshot = null;
         int[] versionComponents = new int[3];
@@ -113,16 +154,21 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
                 throw cause;
 
             try {
-                // Determine if the snapshot is newer than the current release version
                 snapshot = SnapshotVersion.parse(parts[0]);
-                SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
-
-                MinecraftVersion latest = MinecraftVersion.parse(NEWEST_MINECRAFT_VERSION, false);
-                boolean newer = snapshot.getSnapshotDate().compareTo(format.parse(MINECRAFT_LAST_RELEASE_DATE)) > 0;
-
-                versionComponents[0] = latest.getMajor();
-                versionComponents[1] = latest.getMinor() + (newer ? 1 : -1);
-                versionComponents[2] = 0;
+                SnapshotReleases.Window window = SnapshotReleases.lookup(snapshot);
+
+                if (window != null) {
+                    versionComponents[0] = window.major();
+                    versionComponents[1] = window.minor();
+                    versionComponents[2] = window.build();
+                } else {
+                    // Unknown snapshot: guess by whether it is newer than the current release version
+                    boolean newer = snapshot.getSnapshotDate().getTime() > LAST_RELEASE_TIME;
+
+                    versionComponents[0] = NEWEST_VERSION.getMajor();
+                    versionComponents[1] = NEWEST_VERSION.getMinor() + (newer ? 1 : -1);
+                    versionComponents[2] = 0;
+                }
             } catch (Exception e) {
                 throw new IllegalArgumentException("Cannot parse " + parts[0], e);
             }
@@ -159,9 +205,16 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
     // The development stage
     private final @Nullable String development;
 
+    // The parsed development stage, and its number (e.g. 2 for pre2)
+    private final DevelopmentStage stage;
+    private final int stageNumber;
+
     // Snapshot?
     private final @Nullable SnapshotVersion snapshot;
 
+    // The canonical string, see getVersion()
+    private final String version;
+
     /**
      * Construct a version object.
      *
@@ -175,7 +228,24 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
         this.minor = minor;
         this.build = build;
         this.development = development;
+        this.stage = DevelopmentStage.parse(development);
+        this.stageNumber = development != null ? this.stage.number(development) : 0;
         this.snapshot = snapshot;
+        this.version = formatVersion(major, minor, build, development, snapshot);
+    }
+
+    private static String formatVersion(int major, int minor, int build, @Nullable String development, @Nullable SnapshotVersion snapshot) {
+        StringBuilder builder = new StringBuilder(16)
+                .append(major).append('.')
+                .append(minor).append('.')
+                .append(build);
+        if (development != null) {
+            builder.append('-').append(development);
+            if (snapshot != null) {
+                builder.append(snapshot.getSnapshotString());
+            }
+        }
+        return builder.toString();
     }
 
     /**
@@ -214,6 +284,36 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
         return this.development;
     }
 
+    /**
+     * Gets the parsed development stage.
+     *
+     * @return the development stage, {@link DevelopmentStage#RELEASE} if this is a release.
+     */
+    public DevelopmentStage getStage() {
+        return this.stage;
+    }
+
+    /**
+     * Gets the number of the development stage, e.g. {@code 2} for {@code 1.21-pre2}.
+     *
+     * @return the number of the development stage, or zero if it has no number.
+     */
+    public int getStageNumber() {
+        return this.stageNumber;
+    }
+
+    /**
+     * Gets the release this version leads up to.
+     * <p>
+     * For pre-releases and release candidates this is the version they were made for, and for
+     * snapshots it is the release they belong to (or a guess, if the snapshot is not known).
+     *
+     * @return the release, or this version if it is a release.
+     */
+    public MinecraftVersion getRelease() {
+        return this.stage == DevelopmentStage.RELEASE ? this : of(this.major, this.minor, this.build);
+    }
+
     /**
      * Gets the snapshot version, or null if this is a release.
      *
@@ -238,17 +338,65 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
      * @return a normal version string.
      */
     public @NonNull String getVersion() {
-        if (getDevelopmentStage() == null) {
-            return String.format("%s.%s.%s", getMajor(), getMinor(), getBuild());
-        } else {
-            return String.format("%s.%s.%s-%s%s", getMajor(), getMinor(), getBuild(),
-                    getDevelopmentStage(), isSnapshot() ? this.snapshot : "");
-        }
+        return this.version;
+    }
+
+    /**
+     * Appends the version String, as returned by {@link #getVersion()}, to the given builder.
+     *
+     * @param builder the builder to append to
+     * @return the given builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return builder.append(this.version);
+    }
+
+    /**
+     * Appends the version String, as returned by {@link #getVersion()}, to the given appendable.
+     *
+     * @param appendable the appendable to append to
+     * @return the given appendable
+     * @throws IOException if the appendable throws it
+     */
+    public Appendable appendTo(Appendable appendable) throws IOException {
+        return appendable.append(this.version);
+    }
+
+    /**
+     * Writes the version String, as returned by {@link #getVersion()}, to the given buffer as UTF-8 bytes.
+     *
+     * @param buffer the buffer to write to
+     * @return the given buffer
+     * @throws java.nio.BufferOverflowException if there is not enough space remaining in the buffer,
+     *                                          in which case nothing is written
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer) {
+        return Utf8.write(this.version, buffer);
     }
 
     @Override
     public int compareTo(@NonNull MinecraftVersion that) {
-        return COMPARATOR.compare(this, that);
+        int result = Integer.compare(this.major, that.major);
+        if (result != 0) return result;
+        result = Integer.compare(this.minor, that.minor);
+        if (result != 0) return result;
+        result = Integer.compare(this.build, that.build);
+        if (result != 0) return result;
+        result = Integer.compare(this.stage.ordinal(), that.stage.ordinal());
+        if (result != 0) return result;
+        result = Integer.compare(this.stageNumber, that.stageNumber);
+        if (result != 0) return result;
+
+        if (this.stage == DevelopmentStage.UNKNOWN) {
+            // Both are non-null, as unknown stages have a raw string
+            result = Objects.requireNonNull(this.development).compareTo(Objects.requireNonNull(that.development));
+            if (result != 0) return result;
+        }
+
+        if (this.snapshot == that.snapshot) return 0;
+        if (this.snapshot == null) return -1;
+        if (that.snapshot == null) return 1;
+        return this.snapshot.compareTo(that.snapshot);
     }
 
     /**
@@ -312,12 +460,16 @@ public final class MinecraftVersion implements Comparable<MinecraftVersion> {
         return getMajor() == other.getMajor() &&
                getMinor() == other.getMinor() &&
                getBuild() == other.getBuild() &&
-               Objects.equals(getDevelopmentStage(), other.getDevelopmentStage());
+               this.stage == other.stage &&
+               this.stageNumber == other.stageNumber &&
+               (this.stage != DevelopmentStage.UNKNOWN || Objects.equals(getDevelopmentStage(), other.getDevelopmentStage())) &&
+               Objects.equals(this.snapshot, other.snapshot);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getMajor(), getMinor(), getBuild());
+        // Same value as Objects.hash(major, minor, build, snapshot), without boxing the components
+        return (((31 + getMajor()) * 31 + getMinor()) * 31 + getBuild()) * 31 + Objects.hashCode(this.snapshot);
     }
 
     @Override
@@ -0,0 +1,303 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable set of {@link MinecraftVersion}s.
+ * <p>
+ * Membership of {@link VersionRegistry registered} releases is stored as a bitmap over their
+ * ordinals, so that {@link #contains(Object)}, {@link #union(MinecraftVersionSet)},
+ * {@link #intersect(MinecraftVersionSet)} and {@link #size()} are word operations. Other
+ * versions are kept aside in a sorted array. Iteration is in release order.
+ */
+@DefaultQualifier(NonNull.class)
+public final class MinecraftVersionSet extends AbstractSet<MinecraftVersion> {
+
+    private static final int WORDS = (VersionRegistry.size() + Long.SIZE - 1) / Long.SIZE;
+    private static final MinecraftVersion[] NO_EXTRAS = new MinecraftVersion[0];
+    private static final MinecraftVersionSet EMPTY = new MinecraftVersionSet(new long[WORDS], NO_EXTRAS);
+
+    /**
+     * Gets the empty set.
+     *
+     * @return the empty set
+     */
+    public static MinecraftVersionSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a set of the given versions.
+     *
+     * @param versions the versions
+     * @return the set
+     */
+    public static MinecraftVersionSet of(MinecraftVersion... versions) {
+        Objects.requireNonNull(versions, "versions");
+        return copyOf(Arrays.asList(versions));
+    }
+
+    /**
+     * Creates a set of the given versions.
+     *
+     * @param versions the versions
+     * @return the set
+     */
+    public static MinecraftVersionSet copyOf(Iterable<? extends MinecraftVersion> versions) {
+        Objects.requireNonNull(versions, "versions");
+        if (versions instanceof MinecraftVersionSet set) {
+            return set;
+        }
+
+        long[] words = new long[WORDS];
+        List<MinecraftVersion> extras = new ArrayList<>();
+        for (MinecraftVersion version : versions) {
+            Objects.requireNonNull(version, "version");
+            int ordinal = VersionRegistry.ordinal(version);
+            if (ordinal != VersionRegistry.UNKNOWN) {
+                words[ordinal >>> 6] |= 1L << ordinal;
+            } else if (!extras.contains(version)) {
+                extras.add(version);
+            }
+        }
+        return create(words, extras.toArray(NO_EXTRAS));
+    }
+
+    /**
+     * Creates a set of the registered releases between the two given versions, both inclusive.
+     *
+     * @param from the lower bound
+     * @param to   the upper bound
+     * @return the set
+     */
+    public static MinecraftVersionSet range(MinecraftVersion from, MinecraftVersion to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        long[] words = new long[WORDS];
+        for (int ordinal = 0; ordinal < VersionRegistry.size(); ordinal++) {
+            if (VersionRegistry.byOrdinal(ordinal).isBetween(from, to)) {
+                words[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+        return create(words, NO_EXTRAS);
+    }
+
+    private static MinecraftVersionSet create(long[] words, MinecraftVersion[] extras) {
+        if (extras.length == 0 && Arrays.equals(words, EMPTY.words)) {
+            return EMPTY;
+        }
+        Arrays.sort(extras);
+        return new MinecraftVersionSet(words, extras);
+    }
+
+    private final long[] words;
+    private final MinecraftVersion[] extras;
+
+    private MinecraftVersionSet(long[] words, MinecraftVersion[] extras) {
+        this.words = words;
+        this.extras = extras;
+    }
+
+    @Override
+    public boolean contains(@Nullable Object o) {
+        if (!(o instanceof MinecraftVersion version)) {
+            return false;
+        }
+        int ordinal = VersionRegistry.ordinal(version);
+        if (ordinal != VersionRegistry.UNKNOWN) {
+            return (this.words[ordinal >>> 6] & 1L << ordinal) != 0;
+        }
+        for (MinecraftVersion extra : this.extras) {
+            if (extra.equals(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets if this set contains all versions of the other set.
+     *
+     * @param other the other set
+     * @return if this set contains all versions of the other set
+     */
+    public boolean containsAll(MinecraftVersionSet other) {
+        Objects.requireNonNull(other, "other");
+        for (int i = 0; i < WORDS; i++) {
+            if ((other.words[i] & ~this.words[i]) != 0) {
+                return false;
+            }
+        }
+        for (MinecraftVersion extra : other.extras) {
+            if (!contains(extra)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets if this set has any version in common with the other set.
+     *
+     * @param other the other set
+     * @return if the sets intersect
+     */
+    public boolean intersects(MinecraftVersionSet other) {
+        Objects.requireNonNull(other, "other");
+        for (int i = 0; i < WORDS; i++) {
+            if ((this.words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        for (MinecraftVersion extra : other.extras) {
+            if (contains(extra)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates the union of this set and the other set.
+     *
+     * @param other the other set
+     * @return the union
+     */
+    public MinecraftVersionSet union(MinecraftVersionSet other) {
+        Objects.requireNonNull(other, "other");
+        long[] words = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = this.words[i] | other.words[i];
+        }
+        List<MinecraftVersion> extras = new ArrayList<>(Arrays.asList(this.extras));
+        for (MinecraftVersion extra : other.extras) {
+            if (!extras.contains(extra)) {
+                extras.add(extra);
+            }
+        }
+        return create(words, extras.toArray(NO_EXTRAS));
+    }
+
+    /**
+     * Creates the intersection of this set and the other set.
+     *
+     * @param other the other set
+     * @return the intersection
+     */
+    public MinecraftVersionSet intersect(MinecraftVersionSet other) {
+        Objects.requireNonNull(other, "other");
+        long[] words = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            words[i] = this.words[i] & other.words[i];
+        }
+        List<MinecraftVersion> extras = new ArrayList<>();
+        for (MinecraftVersion extra : this.extras) {
+            if (other.contains(extra)) {
+                extras.add(extra);
+            }
+        }
+        return create(words, extras.toArray(NO_EXTRAS));
+    }
+
+    /**
+     * Gets the number of versions in this set.
+     *
+     * @return the number of versions
+     */
+    public int cardinality() {
+        int cardinality = this.extras.length;
+        for (long word : this.words) {
+            cardinality += Long.bitCount(word);
+        }
+        return cardinality;
+    }
+
+    @Override
+    public int size() {
+        return cardinality();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this == EMPTY || cardinality() == 0;
+    }
+
+    @Override
+    public Iterator<MinecraftVersion> iterator() {
+        return new Iterator<>() {
+            // The next registered ordinal, or -1 if there is none; and the next extra
+            private int ordinal = nextOrdinal(0);
+            private int extra = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.ordinal >= 0 || this.extra < MinecraftVersionSet.this.extras.length;
+            }
+
+            @Override
+            public MinecraftVersion next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MinecraftVersion[] extras = MinecraftVersionSet.this.extras;
+                if (this.ordinal >= 0) {
+                    MinecraftVersion registered = VersionRegistry.byOrdinal(this.ordinal);
+                    if (this.extra == extras.length || registered.isBefore(extras[this.extra])) {
+                        this.ordinal = nextOrdinal(this.ordinal + 1);
+                        return registered;
+                    }
+                }
+                return extras[this.extra++];
+            }
+        };
+    }
+
+    /**
+     * Gets the first ordinal in this set at or after the given one.
+     *
+     * @return the ordinal, or -1 if there is none
+     */
+    private int nextOrdinal(int from) {
+        int index = from >>> 6;
+        if (index >= WORDS) {
+            return -1;
+        }
+        long word = this.words[index] & -1L << from;
+        while (true) {
+            if (word != 0) {
+                return index * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == WORDS) {
+                return -1;
+            }
+            word = this.words[index];
+        }
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (o instanceof MinecraftVersionSet other) {
+            if (!Arrays.equals(this.words, other.words) || this.extras.length != other.extras.length) {
+                return false;
+            }
+            // Both are sorted
+            return Arrays.equals(this.extras, other.extras);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+}
@@ -0,0 +1,334 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A reusable, lazily parsed view of a version string in a {@link CharSequence} or a range of
+ * ASCII bytes.
+ * <p>
+ * The view only parses the parts of the version string that are asked for: comparing
+ * {@code 1.19.4} against {@code 1.20} only parses the major and minor components, and stops
+ * at the minor component. A full {@link MinecraftVersion} is only created by {@link #materialize()}.
+ * This makes the view a cheap filter over large amounts of records:
+ * <pre>{@code
+ * MinecraftVersionView view = new MinecraftVersionView();
+ * for (CharSequence record : records) {
+ *     if (view.reset(record).isAfterOrEq(MinecraftVersions.v1_20_5)) {
+ *         accept(view.materialize());
+ *     }
+ * }
+ * }</pre>
+ * The view accepts the same input as {@link VersionKey#parse(CharSequence, int, int)}. As parsing
+ * is lazy, malformed input is only noticed once the malformed part is needed, in which case
+ * an {@link IllegalArgumentException} is thrown.
+ * <p>
+ * This class is not thread-safe.
+ */
+@DefaultQualifier(NonNull.class)
+public final class MinecraftVersionView {
+
+    private static final VersionKey.CharAccess<Object> NO_ACCESS = (source, index) -> {
+        throw new IllegalStateException("View has not been reset");
+    };
+
+    // The source: a ByteBuffer or a CharSequence, and the access matching it
+    private @Nullable Object source;
+    private VersionKey.CharAccess<Object> access = NO_ACCESS;
+    private int from;
+    private int to;
+    // The end of the release, i.e. the first dash
+    private int dash;
+
+    // The release components parsed so far, and the position of the next one
+    private int parsedComponents;
+    private int cursor;
+    private final int[] components = new int[3];
+
+    // The key of the whole version, once parsed
+    private boolean keyParsed;
+    private long key;
+
+    /**
+     * Creates a view, which needs to be {@link #reset(CharSequence) reset} before use.
+     */
+    public MinecraftVersionView() {
+    }
+
+    /**
+     * Points this view at the given characters.
+     *
+     * @param chars the characters
+     * @return this view
+     */
+    public MinecraftVersionView reset(CharSequence chars) {
+        return reset(chars, 0, chars.length());
+    }
+
+    /**
+     * Points this view at the given range of characters.
+     *
+     * @param chars the characters
+     * @param from  the start of the range (inclusive)
+     * @param to    the end of the range (exclusive)
+     * @return this view
+     */
+    public MinecraftVersionView reset(CharSequence chars, int from, int to) {
+        Objects.checkFromToIndex(from, to, chars.length());
+        return reset0(chars, VersionKey.CharAccess.CHARS, from, to);
+    }
+
+    /**
+     * Points this view at the given range of ASCII bytes.
+     *
+     * @param buffer the buffer, which is read with absolute gets
+     * @param from   the start of the range (inclusive)
+     * @param to     the end of the range (exclusive)
+     * @return this view
+     */
+    public MinecraftVersionView reset(ByteBuffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.limit());
+        return reset0(buffer, VersionKey.CharAccess.BYTES, from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S> MinecraftVersionView reset0(S source, VersionKey.CharAccess<S> access, int from, int to) {
+        int dash = from;
+        while (dash < to && access.at(source, dash) != '-') dash++;
+        this.source = source;
+        // The access is only ever used with the source it was given with
+        this.access = (VersionKey.CharAccess<Object>) access;
+        this.from = from;
+        this.to = to;
+        this.dash = dash;
+        this.parsedComponents = 0;
+        this.cursor = from;
+        this.keyParsed = false;
+        return this;
+    }
+
+    private Object source() {
+        Object source = this.source;
+        if (source == null) {
+            throw new IllegalStateException("View has not been reset");
+        }
+        return source;
+    }
+
+    /**
+     * Gets the major component of the version.
+     *
+     * @return the major component
+     * @throws IllegalArgumentException if the major component is malformed
+     */
+    public int getMajor() {
+        return component(0);
+    }
+
+    /**
+     * Gets the minor component of the version.
+     *
+     * @return the minor component
+     * @throws IllegalArgumentException if the major or minor component is malformed
+     */
+    public int getMinor() {
+        return component(1);
+    }
+
+    /**
+     * Gets the build component of the version.
+     *
+     * @return the build component
+     * @throws IllegalArgumentException if a release component is malformed
+     */
+    public int getBuild() {
+        return component(2);
+    }
+
+    /**
+     * Gets the development stage of the version.
+     *
+     * @return the development stage
+     * @throws IllegalArgumentException if the version is malformed
+     */
+    public DevelopmentStage getStage() {
+        return VersionKey.stage(validKey());
+    }
+
+    /**
+     * Gets if the version string is well-formed, which requires parsing all of it.
+     *
+     * @return if the version string is well-formed
+     */
+    public boolean isValid() {
+        return key() != VersionKey.INVALID;
+    }
+
+    /**
+     * Gets the {@link VersionKey} of the version, which requires parsing all of it.
+     *
+     * @return the key, or {@link VersionKey#INVALID} if the version string is malformed
+     */
+    public long key() {
+        if (!this.keyParsed) {
+            this.key = VersionKey.parse0(source(), this.access, this.from, this.to);
+            this.keyParsed = true;
+        }
+        return this.key;
+    }
+
+    private long validKey() {
+        long key = key();
+        if (key == VersionKey.INVALID) {
+            throw malformed();
+        }
+        return key;
+    }
+
+    private IllegalArgumentException malformed() {
+        return new IllegalArgumentException("Cannot parse " + this);
+    }
+
+    private int component(int index) {
+        while (this.parsedComponents <= index) {
+            parseNextComponent();
+        }
+        return this.components[index];
+    }
+
+    private void parseNextComponent() {
+        Object source = source();
+        int position = this.cursor;
+        if (VersionKey.isTrailing(source, this.access, position, this.dash)) {
+            // The String 1 or 1.2 is interpreted as 1.0.0 and 1.2.0 respectively
+            if (this.parsedComponents == 0) {
+                throw malformed();
+            }
+            this.components[this.parsedComponents++] = 0;
+            return;
+        }
+
+        int end = VersionKey.elementEnd(source, this.access, position, this.dash);
+        int value = VersionKey.parseComponent(source, this.access, position, end);
+        if (value < 0) {
+            // Not a number, so the version is either a snapshot, which doesn't spell out its release, or malformed
+            long key = validKey();
+            this.components[0] = VersionKey.major(key);
+            this.components[1] = VersionKey.minor(key);
+            this.components[2] = VersionKey.build(key);
+            this.parsedComponents = 3;
+            return;
+        }
+        this.cursor = end < this.dash ? end + 1 : this.dash;
+        this.components[this.parsedComponents++] = value;
+    }
+
+    /**
+     * Compares the version against the given version, like {@link MinecraftVersion#compareTo(MinecraftVersion)},
+     * parsing only as much of the version string as is needed to decide.
+     *
+     * @param other the version to compare against
+     * @return a negative integer, zero, or a positive integer as the version is before, the same as, or after the other version
+     * @throws IllegalArgumentException if a part of the version string needed for the comparison is malformed
+     */
+    public int compareTo(MinecraftVersion other) {
+        int result = Integer.compare(getMajor(), other.getMajor());
+        if (result != 0) return result;
+        result = Integer.compare(getMinor(), other.getMinor());
+        if (result != 0) return result;
+        result = Integer.compare(getBuild(), other.getBuild());
+        if (result != 0) return result;
+
+        // Same release: the development stage decides
+        long key = validKey();
+        long otherKey = VersionKey.of(other);
+        if (otherKey != VersionKey.INVALID) {
+            return Long.compare(key, otherKey);
+        }
+        return materialize().compareTo(other);
+    }
+
+    /**
+     * Gets if the version was released after the other version.
+     *
+     * @param other the other version
+     * @return if the version was released after the other version
+     */
+    public boolean isAfter(MinecraftVersion other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * Gets if the version was released after the other version, or is equal to it.
+     *
+     * @param other the other version
+     * @return if the version was released after the other version, or is equal to it
+     */
+    public boolean isAfterOrEq(MinecraftVersion other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * Gets if the version was released before the other version.
+     *
+     * @param other the other version
+     * @return if the version was released before the other version
+     */
+    public boolean isBefore(MinecraftVersion other) {
+        return compareTo(other) < 0;
+    }
+
+    /**
+     * Gets if the version was released before the other version, or is equal to it.
+     *
+     * @param other the other version
+     * @return if the version was released before the other version, or is equal to it
+     */
+    public boolean isBeforeOrEq(MinecraftVersion other) {
+        return compareTo(other) <= 0;
+    }
+
+    /**
+     * Gets if the version was released in the period between two other versions, or is equal
+     * to either of them.
+     *
+     * @param o1 the first other version
+     * @param o2 the second other version
+     * @return if the version was released between the others
+     */
+    public boolean isBetween(MinecraftVersion o1, MinecraftVersion o2) {
+        return (isAfterOrEq(o1) && isBeforeOrEq(o2)) || (isBeforeOrEq(o1) && isAfterOrEq(o2));
+    }
+
+    /**
+     * Creates the full {@link MinecraftVersion} of the version string.
+     *
+     * @return the version
+     * @throws IllegalArgumentException if the version string is malformed
+     */
+    public MinecraftVersion materialize() {
+        return Objects.requireNonNull(VersionKey.toVersion(validKey()));
+    }
+
+    /**
+     * Gets the version string this view points at.
+     *
+     * @return the version string
+     */
+    @Override
+    public String toString() {
+        Object source = this.source;
+        if (source == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(this.to - this.from);
+        for (int i = this.from; i < this.to; i++) {
+            builder.append((char) this.access.at(source, i));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of helper, licensed under the MIT License.
+ *
+ *  Copyright (c) lucko (Luck) <luck@lucko.me>
+ *  Copyright (c) contributors
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all
+ *  copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *  SOFTWARE.
+ */
+
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Utility class which holds some common versions of Minecraft.
+ *
+ * @author Kristian (ProtocolLib)
+ */
+@SuppressWarnings({"UnreachableCode", "ConstantValue"})
+@DefaultQualifier(NonNull.class)
+public final class MinecraftVersions {
+    public static final MinecraftVersion v1_21_4 = MinecraftVersion.parse("1.21.4");
+    public static final MinecraftVersion v1_21_3 = MinecraftVersion.parse("1.21.3");
+    public static final MinecraftVersion v1_21_2 = MinecraftVersion.parse("1.21.2");
+    public static final MinecraftVersion v1_21_1 = MinecraftVersion.parse("1.21.1");
+    public static final MinecraftVersion v1_21 = MinecraftVersion.parse("1.21");
+
+    public static final MinecraftVersion v1_20_6 = MinecraftVersion.parse("1.20.6");
+    public static final MinecraftVersion v1_20_5 = MinecraftVersion.parse("1.20.5");
+    public static final MinecraftVersion v1_20_4 = MinecraftVersion.parse("1.20.4");
+    public static final MinecraftVersion v1_20_3 = MinecraftVersion.parse("1.20.3");
+    public static final MinecraftVersion v1_20 = MinecraftVersion.parse("1.20");
+
+    public static final MinecraftVersion v1_19_4 = MinecraftVersion.parse("1.19.4");
+    public static final MinecraftVersion v1_19 = MinecraftVersion.parse("1.19");
+
+    public static final MinecraftVersion v1_18_2 = MinecraftVersion.parse("1.18.2");
+    public static final MinecraftVersion v1_18 = MinecraftVersion.parse("1.18");
+
+    public static final MinecraftVersion v1_17_1 = MinecraftVersion.parse("1.17.1");
+    public static final MinecraftVersion v1_17 = MinecraftVersion.parse("1.17");
+
+    private static final System.Logger LOGGER = System.getLogger(MinecraftVersions.class.getName());
+
+    /**
+     * The number of providers which may fail to load before we give up on the rest, so that a
+     * broken provider-configuration file can't keep the service loader failing forever.
+     */
+    static final int MAX_PROVIDER_ERRORS = 16;
+
+    /**
+     * Gets the Minecraft version of the runtime, as detected by the {@link RuntimeVersionProvider}s.
+     * <p>
+     * The providers are only asked on the first call, so that the constants of this class can be
+     * used without a platform, e.g. by parse-only users and in unit tests.
+     *
+     * @return the runtime version
+     */
+    static MinecraftVersion runtimeVersion() {
+        return RuntimeVersionHolder.RUNTIME_VERSION;
+    }
+
+    /**
+     * Detects the runtime version when first accessed. It never fails: if no provider can tell,
+     * a warning is logged and the newest version known to this library is assumed.
+     */
+    private static final class RuntimeVersionHolder {
+        static final MinecraftVersion RUNTIME_VERSION = detectRuntimeVersion();
+    }
+
+    private static MinecraftVersion detectRuntimeVersion() {
+        ClassLoader loader = MinecraftVersions.class.getClassLoader();
+        List<RuntimeVersionProvider> providers = loadRuntimeVersionProviders(ServiceLoader.load(RuntimeVersionProvider.class, loader).iterator());
+        MinecraftVersion detected = detectRuntimeVersion(providers);
+        if (detected != null) {
+            return detected;
+        }
+
+        // without a platform (e.g. in test environment), we fall back to the latest Minecraft version we know
+        MinecraftVersion newest = MinecraftVersion.parse(MinecraftVersion.NEWEST_MINECRAFT_VERSION);
+        if (providers.isEmpty() && isBukkitPresent(loader)) {
+            // The guess likely picks the wrong NMS version and OBC/NMS packages, so say loudly how to fix it
+            LOGGER.log(System.Logger.Level.WARNING, "Running on a Bukkit server, but no RuntimeVersionProvider is registered, assuming {0}. "
+                                                    + "Depend on minecraft-versions-paper rather than only the core, and merge "
+                                                    + "the service files when shading (e.g. mergeServiceFiles() of the Shadow plugin)", newest);
+        } else {
+            LOGGER.log(System.Logger.Level.WARNING, "No RuntimeVersionProvider detected the Minecraft version, assuming {0}", newest);
+        }
+        return newest;
+    }
+
+    /**
+     * Loads the {@link RuntimeVersionProvider}s from the service loader iterator, sorted by priority.
+     * <p>
+     * Providers which fail to load, e.g. because their platform is not on the classpath, are logged and
+     * skipped. After {@link #MAX_PROVIDER_ERRORS} failures, the remaining providers are skipped too.
+     *
+     * @param iterator the service loader iterator
+     * @return the providers
+     */
+    static List<RuntimeVersionProvider> loadRuntimeVersionProviders(Iterator<RuntimeVersionProvider> iterator) {
+        List<RuntimeVersionProvider> providers = new ArrayList<>();
+        int errors = 0;
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                providers.add(iterator.next());
+            } catch (ServiceConfigurationError | LinkageError e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Skipping a RuntimeVersionProvider which failed to load", e);
+                if (++errors >= MAX_PROVIDER_ERRORS) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Too many RuntimeVersionProviders failed to load, skipping the rest");
+                    break;
+                }
+            }
+        }
+        providers.sort(Comparator.comparingInt(RuntimeVersionProvider::priority).reversed());
+        return providers;
+    }
+
+    /**
+     * Asks the given providers for the runtime version, in order.
+     */
+    private static @Nullable MinecraftVersion detectRuntimeVersion(List<RuntimeVersionProvider> providers) {
+        for (RuntimeVersionProvider provider : providers) {
+            try {
+                MinecraftVersion version = provider.detect();
+                if (version != null) {
+                    return version;
+                }
+            } catch (LinkageError e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Skipping " + provider.getClass().getName() + ", which is not for this platform", e);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Skipping " + provider.getClass().getName() + ", which failed to detect the version", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets if the Bukkit API is visible to this library, which means we are most likely on a server.
+     */
+    private static boolean isBukkitPresent(@Nullable ClassLoader loader) {
+        try {
+            Class.forName("org.bukkit.Bukkit", false, loader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private MinecraftVersions() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,248 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A capability of the server internals, which is available in some {@link NmsVersion}s.
+ * <p>
+ * Each capability is declared with the {@link NmsVersion}s that have it, and is assigned one bit
+ * of a {@code long}. The capabilities of each {@link NmsVersion} are resolved into a bitmask at
+ * registration time, so that {@link NmsVersion#has(NmsCapability)} and {@link #isAvailable()}
+ * are a single AND.
+ * <p>
+ * Plugins can declare their own capabilities with {@link #builder(String)}. There can be at most
+ * {@value #MAX_CAPABILITIES} capabilities in total.
+ */
+@DefaultQualifier(NonNull.class)
+public final class NmsCapability {
+
+    /**
+     * The maximum number of capabilities, one per bit of a {@code long}.
+     */
+    public static final int MAX_CAPABILITIES = Long.SIZE;
+
+    private static final NmsVersion[] NMS_VERSIONS = NmsVersion.values();
+    private static final ConcurrentIndex<String, NmsCapability> BY_KEY = Indexing.concurrent();
+
+    /**
+     * The capabilities of each {@link NmsVersion}, indexed by ordinal. Replaced on registration.
+     */
+    private static volatile long[] masks = new long[NMS_VERSIONS.length];
+    /**
+     * The capabilities of the {@link NmsVersion#runtimeVersion() runtime version}.
+     */
+    private static volatile long runtimeMask;
+    private static int nextBit;
+
+    /**
+     * The OBC package is relocated, i.e. it contains the version, such as {@code org.bukkit.craftbukkit.v1_20_R3}.
+     */
+    public static final NmsCapability OBC_RELOCATED = builder("obc_relocated")
+            .range(NmsVersion.v1_17_R1, NmsVersion.v1_20_R3)
+            .register();
+
+    /**
+     * The server runs with Mojang mappings.
+     */
+    public static final NmsCapability MOJANG_MAPPED = builder("mojang_mapped")
+            .since(NmsVersion.v1_20_R4)
+            .register();
+
+    /**
+     * Items store their data as data components, rather than NBT tags.
+     */
+    public static final NmsCapability COMPONENT_DATA = builder("component_data")
+            .since(NmsVersion.v1_20_R4)
+            .register();
+
+    /**
+     * Gets the capability registered with the given key.
+     *
+     * @param key the key
+     * @return the capability, or null if there is none
+     */
+    public static @Nullable NmsCapability get(String key) {
+        Objects.requireNonNull(key, "key");
+        return BY_KEY.get(key);
+    }
+
+    /**
+     * Gets all registered capabilities.
+     *
+     * @return the registered capabilities
+     */
+    public static Collection<NmsCapability> all() {
+        return BY_KEY.snapshot().values();
+    }
+
+    /**
+     * Gets the capabilities of the given version as a bitmask, with the {@link #bit()} of each
+     * capability it has set.
+     *
+     * @param version the version
+     * @return the bitmask
+     */
+    public static long mask(NmsVersion version) {
+        return masks[version.ordinal()];
+    }
+
+    /**
+     * Starts the declaration of a capability.
+     *
+     * @param key the unique key of the capability, e.g. {@code myplugin:some_feature}
+     * @return the builder
+     */
+    public static Builder builder(String key) {
+        Objects.requireNonNull(key, "key");
+        return new Builder(key);
+    }
+
+    private static synchronized NmsCapability register(String key, Set<NmsVersion> versions) {
+        if (BY_KEY.get(key) != null) {
+            throw new IllegalStateException("A capability with key " + key + " is already registered");
+        }
+        if (nextBit == MAX_CAPABILITIES) {
+            throw new IllegalStateException("Cannot register " + key + ", there are already " + MAX_CAPABILITIES + " capabilities");
+        }
+
+        NmsCapability capability = new NmsCapability(key, nextBit);
+        long[] newMasks = Arrays.copyOf(masks, masks.length);
+        for (NmsVersion version : versions) {
+            newMasks[version.ordinal()] |= capability.mask;
+        }
+        BY_KEY.batch().put(key, capability).commit();
+        masks = newMasks;
+        nextBit++;
+
+        updateRuntimeMask();
+        return capability;
+    }
+
+    private static void updateRuntimeMask() {
+        runtimeMask = masks[NmsVersion.runtimeVersion().ordinal()];
+    }
+
+    private final String key;
+    private final int bit;
+    private final long mask;
+
+    private NmsCapability(String key, int bit) {
+        this.key = key;
+        this.bit = bit;
+        this.mask = 1L << bit;
+    }
+
+    /**
+     * Gets the unique key of this capability.
+     *
+     * @return the key
+     */
+    public String key() {
+        return this.key;
+    }
+
+    /**
+     * Gets the bit of this capability in the bitmasks returned by {@link #mask(NmsVersion)}.
+     *
+     * @return the bit
+     */
+    public int bit() {
+        return this.bit;
+    }
+
+    /**
+     * Gets if the given version has this capability.
+     *
+     * @param version the version
+     * @return if the version has this capability
+     */
+    public boolean isAvailableIn(NmsVersion version) {
+        return (masks[version.ordinal()] & this.mask) != 0;
+    }
+
+    /**
+     * Gets if the {@link NmsVersion#runtimeVersion() runtime version} has this capability.
+     *
+     * @return if the runtime version has this capability
+     */
+    public boolean isAvailable() {
+        return (runtimeMask & this.mask) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "NmsCapability{" + this.key + "}";
+    }
+
+    /**
+     * Declares the {@link NmsVersion}s which have a capability.
+     */
+    public static final class Builder {
+
+        private final String key;
+        private final Set<NmsVersion> versions = EnumSet.noneOf(NmsVersion.class);
+
+        private Builder(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Declares that the versions between the two given versions, both inclusive, have the capability.
+         *
+         * @param from the first version
+         * @param to   the last version
+         * @return this builder
+         */
+        public Builder range(NmsVersion from, NmsVersion to) {
+            Objects.requireNonNull(from, "from");
+            Objects.requireNonNull(to, "to");
+            if (from == NmsVersion.NONE || to == NmsVersion.NONE) {
+                throw new IllegalArgumentException("range cannot include NONE");
+            }
+            if (from.isAfter(to)) {
+                throw new IllegalArgumentException("from (" + from + ") is after to (" + to + ")");
+            }
+            this.versions.addAll(EnumSet.range(from, to));
+            return this;
+        }
+
+        /**
+         * Declares that the given version and all later versions have the capability.
+         *
+         * @param from the first version
+         * @return this builder
+         */
+        public Builder since(NmsVersion from) {
+            return range(from, NMS_VERSIONS[NMS_VERSIONS.length - 1]);
+        }
+
+        /**
+         * Declares that the given version has the capability.
+         *
+         * @param version the version
+         * @return this builder
+         */
+        public Builder version(NmsVersion version) {
+            return range(version, version);
+        }
+
+        /**
+         * Registers the capability.
+         *
+         * @return the capability
+         * @throws IllegalStateException if the key is already registered, or there are
+         *                               already {@value #MAX_CAPABILITIES} capabilities
+         */
+        public NmsCapability register() {
+            return NmsCapability.register(this.key, this.versions);
+        }
+    }
+}
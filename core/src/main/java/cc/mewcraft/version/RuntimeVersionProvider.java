@@ -0,0 +1,39 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Detects the Minecraft version of the runtime, see {@link MinecraftVersion#getRuntimeVersion()}.
+ * <p>
+ * Implementations are found by {@link java.util.ServiceLoader}, so they are registered in
+ * {@code META-INF/services/cc.mewcraft.version.RuntimeVersionProvider} and need a public
+ * no-argument constructor. The providers are asked in order of their {@link #priority()}, and
+ * the first version found is used. If no provider finds one, the newest Minecraft version
+ * known to this library is assumed.
+ * <p>
+ * The Paper integration ships a provider which asks the server. Proxies and offline tools can
+ * register their own, e.g. one reading the version from the configuration.
+ */
+@DefaultQualifier(NonNull.class)
+public interface RuntimeVersionProvider {
+
+    /**
+     * Detects the Minecraft version of the runtime.
+     * <p>
+     * This is called once, when the runtime version is first asked for.
+     *
+     * @return the Minecraft version, or null if this provider can't tell, e.g. because its platform is not running
+     */
+    @Nullable MinecraftVersion detect();
+
+    /**
+     * Gets the priority of this provider. Providers with a higher priority are asked first.
+     *
+     * @return the priority
+     */
+    default int priority() {
+        return 0;
+    }
+}
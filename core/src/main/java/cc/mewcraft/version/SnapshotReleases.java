@@ -0,0 +1,83 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * A table of the known snapshots and the release they lead up to.
+ * <p>
+ * Pre-releases and release candidates carry their release in the version string itself
+ * (e.g. {@code 1.21-pre1}), so only the snapshots need a table.
+ */
+@DefaultQualifier(NonNull.class)
+final class SnapshotReleases {
+
+    /**
+     * The snapshot weeks of a release, from the first to the last snapshot (both inclusive).
+     * <p>
+     * A week is encoded as {@code year * 100 + week}, e.g. {@code 2433} for {@code 24w33a}.
+     */
+    record Window(int first, int last, int major, int minor, int build) {
+    }
+
+    /**
+     * The known windows, in release order. Update this along with {@link MinecraftVersions}.
+     */
+    private static final Window[] WINDOWS = {
+            new Window(2045, 2120, 1, 17, 0),
+            new Window(2137, 2144, 1, 18, 0),
+            new Window(2203, 2207, 1, 18, 2),
+            new Window(2211, 2219, 1, 19, 0),
+            new Window(2224, 2224, 1, 19, 1),
+            new Window(2242, 2246, 1, 19, 3),
+            new Window(2303, 2307, 1, 19, 4),
+            new Window(2312, 2318, 1, 20, 0),
+            new Window(2331, 2335, 1, 20, 2),
+            new Window(2340, 2346, 1, 20, 3),
+            new Window(2351, 2414, 1, 20, 5),
+            new Window(2418, 2421, 1, 21, 0),
+            new Window(2433, 2440, 1, 21, 2),
+            new Window(2444, 2446, 1, 21, 4),
+    };
+
+    private SnapshotReleases() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Looks up the release window of a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the window, or null if the snapshot is not known
+     */
+    static @Nullable Window lookup(SnapshotVersion snapshot) {
+        return lookup(snapshot.getSnapshotYear(), snapshot.getSnapshotWeek());
+    }
+
+    /**
+     * Looks up the release window of a snapshot week.
+     *
+     * @param year the two-digit year of the snapshot
+     * @param week the week of the snapshot
+     * @return the window, or null if the snapshot is not known
+     */
+    static @Nullable Window lookup(int year, int week) {
+        int key = year * 100 + week;
+
+        int low = 0;
+        int high = WINDOWS.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Window window = WINDOWS[mid];
+            if (key < window.first()) {
+                high = mid - 1;
+            } else if (key > window.last()) {
+                low = mid + 1;
+            } else {
+                return window;
+            }
+        }
+        return null;
+    }
+}
@@ -26,16 +26,17 @@
 package cc.mewcraft.version;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,6 +55,13 @@ public class SnapshotVersion implements Comparable<SnapshotVersion> {
 
     private static final Pattern SNAPSHOT_PATTERN = Pattern.compile("(\\d{2}w\\d{2})([a-z])");
 
+    /**
+     * The weeks accepted by the snapshot date parser, per two-digit year: bit {@code w} is set if
+     * week {@code w} is valid. Computed on first use, which is marked by the sign bit.
+     */
+    private static final AtomicLongArray VALID_WEEKS = new AtomicLongArray(100);
+    private static final long VALID_WEEKS_COMPUTED = Long.MIN_VALUE;
+
     /**
      * Parses a snapshot version
      *
@@ -68,16 +76,24 @@ public class SnapshotVersion implements Comparable<SnapshotVersion> {
     private final Date snapshotDate;
     private final int snapshotWeekVersion;
 
-    private transient @Nullable String rawString;
+    // The two-digit year and the week, as written in the snapshot string
+    private final int snapshotYear;
+    private final int snapshotWeek;
+
+    private final String rawString;
 
     private SnapshotVersion(String version) {
-        Matcher matcher = SNAPSHOT_PATTERN.matcher(version.trim());
+        String trimmed = version.trim();
+        Matcher matcher = SNAPSHOT_PATTERN.matcher(trimmed);
 
         if (matcher.matches()) {
             try {
-                this.snapshotDate = getDateFormat().parse(matcher.group(1));
+                String week = matcher.group(1);
+                this.snapshotDate = getDateFormat().parse(week);
+                this.snapshotYear = Integer.parseInt(week, 0, 2, 10);
+                this.snapshotWeek = Integer.parseInt(week, 3, 5, 10);
                 this.snapshotWeekVersion = matcher.group(2).charAt(0) - 'a';
-                this.rawString = version;
+                this.rawString = trimmed;
             } catch (ParseException e) {
                 throw new IllegalArgumentException("Date implied by snapshot version is invalid.", e);
             }
@@ -99,6 +115,36 @@ public class SnapshotVersion implements Comparable<SnapshotVersion> {
         return format;
     }
 
+    /**
+     * Checks if the snapshot date parser accepts the given week, without parsing a date.
+     * <p>
+     * Not every week number is valid in every year, as the parser is not lenient.
+     *
+     * @param year The two-digit year.
+     * @param week The week of the year.
+     * @return If the week is valid.
+     */
+    static boolean isValidWeek(int year, int week) {
+        if (year < 0 || year >= 100 || week < 0 || week >= 63) {
+            return false;
+        }
+        long mask = VALID_WEEKS.get(year);
+        if (mask == 0) {
+            mask = VALID_WEEKS_COMPUTED;
+            SimpleDateFormat format = getDateFormat();
+            for (int w = 1; w <= 53; w++) {
+                try {
+                    format.parse(String.format(Locale.US, "%02dw%02d", year, w));
+                    mask |= 1L << w;
+                } catch (ParseException ignored) {
+                    // Not a valid week in this year
+                }
+            }
+            VALID_WEEKS.set(year, mask);
+        }
+        return (mask & 1L << week) != 0;
+    }
+
     /**
      * Retrieve the snapshot version within a week, starting at zero.
      *
@@ -108,6 +154,24 @@ public class SnapshotVersion implements Comparable<SnapshotVersion> {
         return this.snapshotWeekVersion;
     }
 
+    /**
+     * Retrieve the two-digit year, as written in the snapshot string.
+     *
+     * @return The year.
+     */
+    int getSnapshotYear() {
+        return this.snapshotYear;
+    }
+
+    /**
+     * Retrieve the week of the year, as written in the snapshot string.
+     *
+     * @return The week of the year.
+     */
+    int getSnapshotWeek() {
+        return this.snapshotWeek;
+    }
+
     /**
      * Retrieve the week this snapshot was released.
      *
@@ -123,18 +187,42 @@ public class SnapshotVersion implements Comparable<SnapshotVersion> {
      * @return The snapshot string.
      */
     public String getSnapshotString() {
-        if (this.rawString == null) {
-            // It's essential that we use the same locale
-            Calendar current = Calendar.getInstance(Locale.US);
-            current.setTime(this.snapshotDate);
-            this.rawString = String.format("%02dw%02d%s",
-                    current.get(Calendar.YEAR) % 100,
-                    current.get(Calendar.WEEK_OF_YEAR),
-                    (char) ('a' + this.snapshotWeekVersion));
-        }
         return this.rawString;
     }
 
+    /**
+     * Appends the raw snapshot string to the given builder.
+     *
+     * @param builder The builder to append to.
+     * @return The given builder.
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return builder.append(this.rawString);
+    }
+
+    /**
+     * Appends the raw snapshot string to the given appendable.
+     *
+     * @param appendable The appendable to append to.
+     * @return The given appendable.
+     * @throws IOException If the appendable throws it.
+     */
+    public Appendable appendTo(Appendable appendable) throws IOException {
+        return appendable.append(this.rawString);
+    }
+
+    /**
+     * Writes the raw snapshot string to the given buffer as UTF-8 bytes.
+     *
+     * @param buffer The buffer to write to.
+     * @return The given buffer.
+     * @throws java.nio.BufferOverflowException If there is not enough space remaining in the buffer,
+     *                                          in which case nothing is written.
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer) {
+        return Utf8.write(this.rawString, buffer);
+    }
+
     @Override
     public int compareTo(SnapshotVersion that) {
         return COMPARATOR.compare(this, that);
@@ -0,0 +1,85 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * UTF-8 helpers for writing version strings without intermediate objects.
+ */
+@DefaultQualifier(NonNull.class)
+final class Utf8 {
+
+    private Utf8() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the given string to the buffer as UTF-8.
+     * <p>
+     * Version strings are almost always ASCII, which is written one byte per char. Other
+     * characters, e.g. in the development stage of a version, are encoded like
+     * {@link String#getBytes(java.nio.charset.Charset)} does, including the replacement
+     * of unpaired surrogates by {@code '?'}.
+     *
+     * @param string the string to write
+     * @param buffer the buffer to write to
+     * @return the given buffer
+     * @throws BufferOverflowException if there is not enough space remaining in the buffer,
+     *                                 in which case nothing is written
+     */
+    static ByteBuffer write(String string, ByteBuffer buffer) {
+        if (buffer.remaining() < encodedLength(string)) {
+            throw new BufferOverflowException();
+        }
+
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >>> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >>> 18));
+                buffer.put((byte) (0x80 | codePoint >>> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >>> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >>> 12));
+                buffer.put((byte) (0x80 | c >>> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets the number of bytes of the given string in UTF-8.
+     */
+    static int encodedLength(String string) {
+        int length = string.length();
+        int encodedLength = length;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                encodedLength += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(string.charAt(i + 1))) {
+                encodedLength += 2; // 4 bytes for the pair of chars
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                encodedLength += 2;
+            }
+        }
+        return encodedLength;
+    }
+}
@@ -0,0 +1,217 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * A fixed-size column of {@link MinecraftVersion}s, one per entity index, such as the client
+ * versions of players.
+ * <p>
+ * The versions are dictionary-encoded: the column only stores the {@link VersionDictionary}
+ * ids, as unsigned {@code short}s, instead of a reference per entity.
+ * <p>
+ * This class is not thread-safe.
+ */
+@DefaultQualifier(NonNull.class)
+public final class VersionColumn {
+
+    private final VersionDictionary dictionary;
+    private short[] ids;
+
+    /**
+     * Creates a column of the given size, backed by a dictionary of its own.
+     * <p>
+     * All entries start out as {@link VersionDictionary#NO_VERSION}.
+     *
+     * @param size the number of entries
+     */
+    public VersionColumn(int size) {
+        this(new VersionDictionary(), size);
+    }
+
+    /**
+     * Creates a column of the given size, backed by the given dictionary.
+     * <p>
+     * All entries start out as {@link VersionDictionary#NO_VERSION}.
+     *
+     * @param dictionary the dictionary
+     * @param size       the number of entries
+     */
+    public VersionColumn(VersionDictionary dictionary, int size) {
+        Objects.requireNonNull(dictionary, "dictionary");
+        if (size < 0) {
+            throw new IllegalArgumentException("size cannot be negative: " + size);
+        }
+        this.dictionary = dictionary;
+        this.ids = new short[size];
+    }
+
+    /**
+     * Gets the dictionary of this column.
+     *
+     * @return the dictionary
+     */
+    public VersionDictionary dictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * Gets the number of entries in this column.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return this.ids.length;
+    }
+
+    /**
+     * Resizes this column, keeping the entries that still fit.
+     * <p>
+     * New entries start out as {@link VersionDictionary#NO_VERSION}.
+     *
+     * @param size the new number of entries
+     */
+    public void resize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size cannot be negative: " + size);
+        }
+        this.ids = Arrays.copyOf(this.ids, size);
+    }
+
+    /**
+     * Gets the version at the given index.
+     *
+     * @param index the index
+     * @return the version, or null if there is none
+     */
+    public @Nullable MinecraftVersion get(int index) {
+        return this.dictionary.get(getId(index));
+    }
+
+    /**
+     * Sets the version at the given index.
+     *
+     * @param index   the index
+     * @param version the version, or null to clear the entry
+     * @throws IllegalStateException if the version is new to the dictionary, and the dictionary is full
+     */
+    public void set(int index, @Nullable MinecraftVersion version) {
+        setId(index, version != null ? this.dictionary.intern(version) : VersionDictionary.NO_VERSION);
+    }
+
+    /**
+     * Gets the dictionary id at the given index.
+     *
+     * @param index the index
+     * @return the id
+     */
+    public int getId(int index) {
+        return Short.toUnsignedInt(this.ids[index]);
+    }
+
+    /**
+     * Sets the dictionary id at the given index.
+     *
+     * @param index the index
+     * @param id    the id, which must be in use by the dictionary
+     */
+    public void setId(int index, int id) {
+        if (id < 0 || id >= this.dictionary.size()) {
+            throw new IllegalArgumentException("Unknown id: " + id);
+        }
+        this.ids[index] = (short) id;
+    }
+
+    /**
+     * Counts the entries per dictionary id.
+     *
+     * @return the counts, indexed by id
+     */
+    public int[] countById() {
+        int[] counts = new int[this.dictionary.size()];
+        for (short id : this.ids) {
+            counts[Short.toUnsignedInt(id)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the entries per version, leaving out empty entries.
+     * <p>
+     * Dictionary entries which are the same version by {@link MinecraftVersion#compareTo(MinecraftVersion)},
+     * but have different version strings, are counted together.
+     *
+     * @return the counts, in version order
+     */
+    public Map<MinecraftVersion, Integer> counts() {
+        int[] counts = countById();
+        Map<MinecraftVersion, Integer> result = new TreeMap<>();
+        for (int id = 1; id < counts.length; id++) {
+            if (counts[id] != 0) {
+                result.merge(Objects.requireNonNull(this.dictionary.get(id)), counts[id], Integer::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calls the consumer with the index of every entry whose version is between the two
+     * given versions, both inclusive.
+     *
+     * @param from     the lower bound
+     * @param to       the upper bound
+     * @param consumer the consumer of the matching indexes
+     */
+    public void forEachInRange(MinecraftVersion from, MinecraftVersion to, IntConsumer consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        boolean[] mask = rangeMask(from, to);
+        short[] ids = this.ids;
+        for (int i = 0; i < ids.length; i++) {
+            int id = Short.toUnsignedInt(ids[i]);
+            if (id < mask.length && mask[id]) {
+                consumer.accept(i);
+            }
+        }
+    }
+
+    /**
+     * Counts the entries whose version is between the two given versions, both inclusive.
+     *
+     * @param from the lower bound
+     * @param to   the upper bound
+     * @return the number of matching entries
+     */
+    public int countInRange(MinecraftVersion from, MinecraftVersion to) {
+        boolean[] mask = rangeMask(from, to);
+        int[] counts = countById();
+        int count = 0;
+        for (int id = 0; id < mask.length; id++) {
+            if (mask[id]) {
+                count += counts[id];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Resolves a version range to the set of dictionary ids in it, so that the
+     * entries can be filtered by id.
+     */
+    private boolean[] rangeMask(MinecraftVersion from, MinecraftVersion to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        boolean[] mask = new boolean[this.dictionary.size()];
+        for (int id = 1; id < mask.length; id++) {
+            MinecraftVersion version = this.dictionary.get(id);
+            mask[id] = version != null && version.isAfterOrEq(from) && version.isBeforeOrEq(to);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,126 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An intern dictionary which assigns small integer ids to {@link MinecraftVersion}s.
+ * <p>
+ * Ids are assigned in the order versions are first interned, starting at {@code 1}, and
+ * never change afterwards. The id {@link #NO_VERSION} stands for "no version". Versions are
+ * told apart by their {@link VersionKey}, so spellings of the same version, such as a padded
+ * snapshot, share an id; versions without a key are told apart by their
+ * {@link MinecraftVersion#getVersion() version string}.
+ * <p>
+ * A dictionary holds at most {@link #MAX_ID} versions and never forgets one, so it should
+ * be scoped to the data it encodes, e.g. one dictionary per {@link VersionColumn}.
+ * <p>
+ * This class is thread-safe.
+ */
+@DefaultQualifier(NonNull.class)
+public final class VersionDictionary {
+
+    /**
+     * The id standing for "no version".
+     */
+    public static final int NO_VERSION = 0;
+
+    /**
+     * The largest id a dictionary hands out, so that ids fit in an unsigned {@code short}.
+     */
+    public static final int MAX_ID = 0xFFFF;
+
+    // Keyed by the VersionKey, or by the version string of versions without a key
+    private final Map<Object, Integer> ids = new ConcurrentHashMap<>();
+    private volatile @Nullable MinecraftVersion[] versions = new MinecraftVersion[16];
+    private volatile int size = 1;
+
+    /**
+     * Gets the id of the given version, assigning a new id if it has none yet.
+     *
+     * @param version the version
+     * @return the id of the version
+     * @throws IllegalStateException if the dictionary is full
+     */
+    public int intern(MinecraftVersion version) {
+        Objects.requireNonNull(version, "version");
+        Object key = key(version);
+        Integer id = this.ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        return internSlow(key, version);
+    }
+
+    private synchronized int internSlow(Object key, MinecraftVersion version) {
+        Integer id = this.ids.get(key);
+        if (id != null) {
+            return id;
+        }
+
+        int newId = this.size;
+        if (newId > MAX_ID) {
+            throw new IllegalStateException("Dictionary is full, cannot intern " + version);
+        }
+
+        @Nullable MinecraftVersion[] versions = this.versions;
+        if (newId == versions.length) {
+            versions = Arrays.copyOf(versions, Math.min(versions.length * 2, MAX_ID + 1));
+        }
+        versions[newId] = version;
+        this.versions = versions;
+        this.size = newId + 1;
+        this.ids.put(key, newId);
+        return newId;
+    }
+
+    private static Object key(MinecraftVersion version) {
+        long key = VersionKey.of(version);
+        return key != VersionKey.INVALID ? (Object) key : version.getVersion();
+    }
+
+    /**
+     * Gets the id of the given version, without assigning one.
+     *
+     * @param version the version
+     * @return the id of the version, or {@link #NO_VERSION} if it has not been interned
+     */
+    public int id(MinecraftVersion version) {
+        Objects.requireNonNull(version, "version");
+        Integer id = this.ids.get(key(version));
+        return id != null ? id : NO_VERSION;
+    }
+
+    /**
+     * Gets the version with the given id.
+     *
+     * @param id the id
+     * @return the version, or null if the id is {@link #NO_VERSION}
+     * @throws IllegalArgumentException if no version has been assigned the id
+     */
+    public @Nullable MinecraftVersion get(int id) {
+        // Read the size first: the array is always published before the size that covers it
+        int size = this.size;
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown id: " + id);
+        }
+        return this.versions[id];
+    }
+
+    /**
+     * Gets the number of ids in use, including {@link #NO_VERSION}.
+     * <p>
+     * All ids are in the range {@code [0, size())}.
+     *
+     * @return the number of ids
+     */
+    public int size() {
+        return this.size;
+    }
+}
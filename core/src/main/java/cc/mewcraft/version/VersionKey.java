@@ -0,0 +1,443 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Encodes {@link MinecraftVersion}s as primitive {@code long} keys.
+ * <p>
+ * A key packs the major (12 bits), minor (12 bits) and build (12 bits) components, the
+ * {@link DevelopmentStage} (4 bits) and the stage number (24 bits) into a non-negative
+ * {@code long}, from the most to the least significant bits. Hence, comparing two keys
+ * as {@code long}s gives the same order as {@link MinecraftVersion#compareTo(MinecraftVersion)}.
+ * For snapshots, the stage number holds the two-digit year, the week and the letter of the
+ * snapshot.
+ * <p>
+ * Versions which don't fit in a key, such as those with an {@link DevelopmentStage#UNKNOWN unknown}
+ * development stage, are encoded as {@link #INVALID}.
+ */
+@DefaultQualifier(NonNull.class)
+public final class VersionKey {
+
+    /**
+     * The key of a version which can't be encoded, or of input which can't be parsed.
+     */
+    public static final long INVALID = -1L;
+
+    private static final int COMPONENT_BITS = 12;
+    private static final int COMPONENT_MASK = (1 << COMPONENT_BITS) - 1;
+    /**
+     * The largest major, minor or build component which can be encoded.
+     */
+    static final int MAX_COMPONENT = COMPONENT_MASK;
+    private static final int STAGE_BITS = 4;
+    private static final int STAGE_MASK = (1 << STAGE_BITS) - 1;
+    private static final int NUMBER_BITS = 24;
+    private static final int NUMBER_MASK = (1 << NUMBER_BITS) - 1;
+
+    private static final int STAGE_SHIFT = NUMBER_BITS;
+    private static final int BUILD_SHIFT = STAGE_SHIFT + STAGE_BITS;
+    private static final int MINOR_SHIFT = BUILD_SHIFT + COMPONENT_BITS;
+    private static final int MAJOR_SHIFT = MINOR_SHIFT + COMPONENT_BITS;
+
+    // The layout of the stage number of a snapshot: year (7 bits), week (6 bits), letter (5 bits)
+    private static final int SNAPSHOT_YEAR_SHIFT = 11;
+    private static final int SNAPSHOT_WEEK_SHIFT = 5;
+
+    private static final DevelopmentStage[] STAGES = DevelopmentStage.values();
+
+    private VersionKey() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the key of the given version.
+     *
+     * @param version the version
+     * @return the key, or {@link #INVALID} if the version can't be encoded
+     */
+    public static long of(MinecraftVersion version) {
+        DevelopmentStage stage = version.getStage();
+        int number;
+        SnapshotVersion snapshot = version.getSnapshot();
+        if (snapshot != null) {
+            if (stage != DevelopmentStage.SNAPSHOT) {
+                return INVALID;
+            }
+            number = snapshotNumber(snapshot.getSnapshotYear(), snapshot.getSnapshotWeek(), snapshot.getSnapshotWeekVersion());
+        } else if (stage == DevelopmentStage.UNKNOWN) {
+            return INVALID;
+        } else {
+            number = version.getStageNumber();
+        }
+        return pack(version.getMajor(), version.getMinor(), version.getBuild(), stage, number);
+    }
+
+    /**
+     * Packs the given components into a key.
+     *
+     * @return the key, or {@link #INVALID} if a component is out of range
+     */
+    static long pack(int major, int minor, int build, DevelopmentStage stage, int number) {
+        if ((major & ~COMPONENT_MASK) != 0 || (minor & ~COMPONENT_MASK) != 0 || (build & ~COMPONENT_MASK) != 0 || (number & ~NUMBER_MASK) != 0) {
+            return INVALID;
+        }
+        return (long) major << MAJOR_SHIFT
+               | (long) minor << MINOR_SHIFT
+               | (long) build << BUILD_SHIFT
+               | (long) stage.ordinal() << STAGE_SHIFT
+               | number;
+    }
+
+    static int snapshotNumber(int year, int week, int weekVersion) {
+        return year << SNAPSHOT_YEAR_SHIFT | week << SNAPSHOT_WEEK_SHIFT | weekVersion;
+    }
+
+    /**
+     * Gets the major component of a valid key.
+     *
+     * @param key the key
+     * @return the major component
+     */
+    public static int major(long key) {
+        return (int) (key >>> MAJOR_SHIFT) & COMPONENT_MASK;
+    }
+
+    /**
+     * Gets the minor component of a valid key.
+     *
+     * @param key the key
+     * @return the minor component
+     */
+    public static int minor(long key) {
+        return (int) (key >>> MINOR_SHIFT) & COMPONENT_MASK;
+    }
+
+    /**
+     * Gets the build component of a valid key.
+     *
+     * @param key the key
+     * @return the build component
+     */
+    public static int build(long key) {
+        return (int) (key >>> BUILD_SHIFT) & COMPONENT_MASK;
+    }
+
+    /**
+     * Gets the development stage of a valid key.
+     *
+     * @param key the key
+     * @return the development stage
+     */
+    public static DevelopmentStage stage(long key) {
+        return STAGES[(int) (key >>> STAGE_SHIFT) & STAGE_MASK];
+    }
+
+    /**
+     * Gets the development stage number of a valid key, e.g. {@code 2} for {@code 1.21-pre2}.
+     *
+     * @param key the key
+     * @return the development stage number
+     */
+    public static int stageNumber(long key) {
+        return (int) key & NUMBER_MASK;
+    }
+
+    /**
+     * Gets the version of a key.
+     * <p>
+     * The result comes from {@link MinecraftVersion#parse(String)}, so repeated calls for
+     * the same key usually return the same instance.
+     *
+     * @param key the key
+     * @return the version, or null if the key is {@link #INVALID}
+     */
+    public static @Nullable MinecraftVersion toVersion(long key) {
+        if (key == INVALID) {
+            return null;
+        }
+        int number = stageNumber(key);
+        StringBuilder builder = new StringBuilder(16);
+        switch (stage(key)) {
+            case SNAPSHOT -> {
+                if (number == 0) {
+                    appendRelease(builder, key).append("-snapshot");
+                } else {
+                    appendTwoDigits(builder, number >>> SNAPSHOT_YEAR_SHIFT).append('w');
+                    appendTwoDigits(builder, (number >>> SNAPSHOT_WEEK_SHIFT) & 0x3F);
+                    builder.append((char) ('a' + (number & 0x1F)));
+                }
+            }
+            case PRE_RELEASE -> appendRelease(builder, key).append("-pre").append(number);
+            case RELEASE_CANDIDATE -> appendRelease(builder, key).append("-rc").append(number);
+            case RELEASE -> appendRelease(builder, key);
+            default -> throw new IllegalArgumentException("Not a valid key: " + key);
+        }
+        return MinecraftVersion.parse(builder.toString());
+    }
+
+    private static StringBuilder appendRelease(StringBuilder builder, long key) {
+        return builder.append(major(key)).append('.').append(minor(key)).append('.').append(build(key));
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder builder, int value) {
+        return builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Parses the key of the version string in the given range of ASCII bytes.
+     * <p>
+     * This accepts exactly the version strings accepted by {@link MinecraftVersion#parse(String)},
+     * including its oddities, such as whitespace around the release components and a trailing dot,
+     * without allocating. It only allocates for snapshots which are not known to this library.
+     *
+     * @param buffer the buffer, which is read with absolute gets
+     * @param from   the start of the range (inclusive)
+     * @param to     the end of the range (exclusive)
+     * @return the key, or {@link #INVALID} if the range doesn't hold a version which can be encoded
+     */
+    public static long parse(ByteBuffer buffer, int from, int to) {
+        Objects.checkFromToIndex(from, to, buffer.limit());
+        return parse0(buffer, CharAccess.BYTES, from, to);
+    }
+
+    /**
+     * Parses the key of the version string in the given range of characters.
+     * <p>
+     * This accepts the same input as {@link #parse(ByteBuffer, int, int)}.
+     *
+     * @param chars the characters
+     * @param from  the start of the range (inclusive)
+     * @param to    the end of the range (exclusive)
+     * @return the key, or {@link #INVALID} if the range doesn't hold a version which can be encoded
+     */
+    public static long parse(CharSequence chars, int from, int to) {
+        Objects.checkFromToIndex(from, to, chars.length());
+        return parse0(chars, CharAccess.CHARS, from, to);
+    }
+
+    /**
+     * Reads the characters of a source, so that the parser is written once for {@link ByteBuffer}s
+     * and {@link CharSequence}s without checking the type of the source for every character.
+     *
+     * @param <S> the type of the source
+     */
+    @FunctionalInterface
+    interface CharAccess<S> {
+        /**
+         * Reads bytes as unsigned, i.e. as ISO-8859-1.
+         */
+        CharAccess<ByteBuffer> BYTES = (buffer, index) -> buffer.get(index) & 0xFF;
+        CharAccess<CharSequence> CHARS = CharSequence::charAt;
+
+        /**
+         * Gets the character at the given index of the source.
+         */
+        int at(S source, int index);
+    }
+
+    /**
+     * Parses the key of the version string in the given range of the source.
+     * <p>
+     * This follows {@link MinecraftVersion#parse(String)} step by step: the version string is split
+     * at the dashes, the release is split at the dots, and the first three elements are parsed like
+     * {@link Integer#parseInt(String)} parses them once trimmed. If that fails, the release is
+     * parsed as a snapshot.
+     */
+    static <S> long parse0(S source, CharAccess<S> access, int from, int to) {
+        // Like String.split("-"), which drops trailing empty strings
+        int dash = from;
+        while (dash < to && access.at(source, dash) != '-') dash++;
+        int stageEnd = dash + 1;
+        while (stageEnd < to && access.at(source, stageEnd) != '-') stageEnd++;
+        boolean hasStage = dash < to && !onlyDashes(source, access, dash, to);
+
+        // Like String.split("\\."), which drops trailing empty strings; only dots is no release at all
+        if (isTrailing(source, access, from, dash)) {
+            return INVALID;
+        }
+        int major = 0;
+        int minor = 0;
+        int build = 0;
+        int position = from;
+        for (int i = 0; i < 3 && !isTrailing(source, access, position, dash); i++) {
+            int end = elementEnd(source, access, position, dash);
+            int value = parseComponent(source, access, position, end);
+            if (value < 0) {
+                return parseSnapshot(source, access, from, dash, hasStage, stageEnd);
+            }
+            switch (i) {
+                case 0 -> major = value;
+                case 1 -> minor = value;
+                default -> build = value;
+            }
+            position = end < dash ? end + 1 : dash;
+        }
+
+        DevelopmentStage stage = DevelopmentStage.RELEASE;
+        int number = 0;
+        if (hasStage) {
+            if (isStage(source, access, dash + 1, stageEnd, "snapshot")) {
+                stage = DevelopmentStage.SNAPSHOT;
+            } else if ((number = parseStageNumber(source, access, dash + 1, stageEnd, "pre")) >= 0) {
+                stage = DevelopmentStage.PRE_RELEASE;
+            } else if ((number = parseStageNumber(source, access, dash + 1, stageEnd, "rc")) >= 0) {
+                stage = DevelopmentStage.RELEASE_CANDIDATE;
+            } else {
+                return INVALID;
+            }
+        }
+        return pack(major, minor, build, stage, number);
+    }
+
+    /**
+     * Gets the end of the release element starting at the given position, i.e. the next dot.
+     */
+    static <S> int elementEnd(S source, CharAccess<S> access, int from, int to) {
+        while (from < to && access.at(source, from) != '.') from++;
+        return from;
+    }
+
+    /**
+     * Checks if the rest of the release from the given position holds no more elements,
+     * which is the case if it is empty or only holds dots.
+     */
+    static <S> boolean isTrailing(S source, CharAccess<S> access, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (access.at(source, i) != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a release element like {@link Integer#parseInt(String)} parses the trimmed element.
+     *
+     * @return the component, or -1 if the element is not a number or too large to be encoded
+     */
+    static <S> int parseComponent(S source, CharAccess<S> access, int from, int to) {
+        while (from < to && access.at(source, from) <= ' ') from++;
+        while (to > from && access.at(source, to - 1) <= ' ') to--;
+        if (from < to && access.at(source, from) == '+') {
+            from++;
+        }
+        if (from == to) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(access.at(source, i), 10);
+            if (digit < 0) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value > COMPONENT_MASK) {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    private static <S> boolean onlyDashes(S source, CharAccess<S> access, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (access.at(source, i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(int b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Checks the snapshot format {@code yy'w'ww[a-z]}, with a week that is valid in the year.
+     */
+    private static <S> boolean isSnapshot(S source, CharAccess<S> access, int from, int to) {
+        if (to - from != 6
+            || !isDigit(access.at(source, from)) || !isDigit(access.at(source, from + 1))
+            || access.at(source, from + 2) != 'w'
+            || !isDigit(access.at(source, from + 3)) || !isDigit(access.at(source, from + 4))
+            || access.at(source, from + 5) < 'a' || access.at(source, from + 5) > 'z') {
+            return false;
+        }
+        int year = (access.at(source, from) - '0') * 10 + (access.at(source, from + 1) - '0');
+        int week = (access.at(source, from + 3) - '0') * 10 + (access.at(source, from + 4) - '0');
+        return SnapshotVersion.isValidWeek(year, week);
+    }
+
+    /**
+     * Parses the release as a snapshot, which may be surrounded by whitespace.
+     */
+    private static <S> long parseSnapshot(S source, CharAccess<S> access, int from, int dash, boolean hasStage, int stageEnd) {
+        int to = dash;
+        while (from < to && access.at(source, from) <= ' ') from++;
+        while (to > from && access.at(source, to - 1) <= ' ') to--;
+        if (!isSnapshot(source, access, from, to) || hasStage && !isStage(source, access, dash + 1, stageEnd, "snapshot")) {
+            return INVALID;
+        }
+
+        int year = (access.at(source, from) - '0') * 10 + (access.at(source, from + 1) - '0');
+        int week = (access.at(source, from + 3) - '0') * 10 + (access.at(source, from + 4) - '0');
+        int weekVersion = access.at(source, from + 5) - 'a';
+
+        SnapshotReleases.Window window = SnapshotReleases.lookup(year, week);
+        if (window == null) {
+            // Not a known snapshot, so take the slow path for the heuristic
+            StringBuilder snapshot = new StringBuilder(6);
+            for (int i = from; i < from + 6; i++) {
+                snapshot.append((char) access.at(source, i));
+            }
+            try {
+                return of(MinecraftVersion.parse(snapshot.toString()));
+            } catch (IllegalArgumentException e) {
+                return INVALID;
+            }
+        }
+        return pack(window.major(), window.minor(), window.build(), DevelopmentStage.SNAPSHOT, snapshotNumber(year, week, weekVersion));
+    }
+
+    private static <S> boolean isStage(S source, CharAccess<S> access, int from, int to, String stage) {
+        if (to - from != stage.length()) {
+            return false;
+        }
+        for (int i = 0; i < stage.length(); i++) {
+            if (access.at(source, from + i) != stage.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a stage with a canonical number, such as {@code pre2}.
+     *
+     * @return the number, or -1 if the range doesn't hold the stage
+     */
+    private static <S> int parseStageNumber(S source, CharAccess<S> access, int from, int to, String prefix) {
+        int start = from + prefix.length();
+        if (start >= to || to - start > 9 || (access.at(source, start) == '0' && to - start > 1)) {
+            return -1;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (access.at(source, from + i) != prefix.charAt(i)) {
+                return -1;
+            }
+        }
+        int number = 0;
+        for (int i = start; i < to; i++) {
+            int b = access.at(source, i);
+            if (!isDigit(b)) {
+                return -1;
+            }
+            number = number * 10 + (b - '0');
+        }
+        return number;
+    }
+}
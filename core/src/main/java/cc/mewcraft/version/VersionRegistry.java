@@ -0,0 +1,165 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The registry of known Minecraft releases, each with a dense ordinal.
+ * <p>
+ * Ordinals start at zero and follow the release order, so they can be used as array indexes
+ * and bit positions. Only releases are registered; development versions and releases
+ * which are not known to this library have no ordinal.
+ */
+@DefaultQualifier(NonNull.class)
+public final class VersionRegistry {
+
+    /**
+     * The value returned by {@link #ordinal(MinecraftVersion)} for versions which are not registered.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * The known releases, in release order. Update this along with {@link MinecraftVersions}.
+     */
+    private static final List<MinecraftVersion> RELEASES = Arrays.stream(new String[]{
+            "1.17", "1.17.1",
+            "1.18", "1.18.1", "1.18.2",
+            "1.19", "1.19.1", "1.19.2", "1.19.3", "1.19.4",
+            "1.20", "1.20.1", "1.20.2", "1.20.3", "1.20.4", "1.20.5", "1.20.6",
+            "1.21", "1.21.1", "1.21.2", "1.21.3", "1.21.4",
+    }).map(MinecraftVersion::parse).toList();
+
+    // All known releases are 1.x; ORDINALS[minor - FIRST_MINOR][build] is the ordinal, or UNKNOWN
+    private static final int MAJOR = 1;
+    private static final int FIRST_MINOR = RELEASES.get(0).getMinor();
+    private static final int[][] ORDINALS;
+
+    static {
+        int lastMinor = RELEASES.get(RELEASES.size() - 1).getMinor();
+        ORDINALS = new int[lastMinor - FIRST_MINOR + 1][];
+        for (int ordinal = 0; ordinal < RELEASES.size(); ordinal++) {
+            MinecraftVersion release = RELEASES.get(ordinal);
+            if (release.getMajor() != MAJOR || (ordinal > 0 && !release.isAfter(RELEASES.get(ordinal - 1)))) {
+                throw new IllegalStateException("Releases must be 1.x and in release order: " + release);
+            }
+            int[] builds = ORDINALS[release.getMinor() - FIRST_MINOR];
+            if (builds == null || builds.length <= release.getBuild()) {
+                int oldLength = builds == null ? 0 : builds.length;
+                builds = builds == null ? new int[release.getBuild() + 1] : Arrays.copyOf(builds, release.getBuild() + 1);
+                Arrays.fill(builds, oldLength, builds.length, UNKNOWN);
+                ORDINALS[release.getMinor() - FIRST_MINOR] = builds;
+            }
+            builds[release.getBuild()] = ordinal;
+        }
+    }
+
+    private VersionRegistry() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the number of registered releases.
+     * <p>
+     * All ordinals are in the range {@code [0, size())}.
+     *
+     * @return the number of registered releases
+     */
+    public static int size() {
+        return RELEASES.size();
+    }
+
+    /**
+     * Gets the registered releases, in release order.
+     *
+     * @return the registered releases
+     */
+    public static List<MinecraftVersion> releases() {
+        return RELEASES;
+    }
+
+    /**
+     * Gets the ordinal of the given version.
+     *
+     * @param version the version
+     * @return the ordinal, or {@link #UNKNOWN} if the version is not registered
+     */
+    public static int ordinal(MinecraftVersion version) {
+        Objects.requireNonNull(version, "version");
+        if (version.getMajor() != MAJOR || version.getStage() != DevelopmentStage.RELEASE) {
+            return UNKNOWN;
+        }
+        int minor = version.getMinor() - FIRST_MINOR;
+        if (minor < 0 || minor >= ORDINALS.length) {
+            return UNKNOWN;
+        }
+        int[] builds = ORDINALS[minor];
+        int build = version.getBuild();
+        if (builds == null || build < 0 || build >= builds.length) {
+            return UNKNOWN;
+        }
+        return builds[build];
+    }
+
+    /**
+     * Gets the registered release which comes right after the given version.
+     * <p>
+     * This is a plain array lookup for registered releases. Other versions, such as pre-releases,
+     * are placed among the registered releases by a binary search.
+     *
+     * @param version the version
+     * @return the next registered release, or null if there is none
+     */
+    public static @Nullable MinecraftVersion successor(MinecraftVersion version) {
+        int ordinal = ordinal(version);
+        int next = ordinal != UNKNOWN ? ordinal + 1 : insertionPoint(version);
+        return next < RELEASES.size() ? RELEASES.get(next) : null;
+    }
+
+    /**
+     * Gets the registered release which comes right before the given version.
+     * <p>
+     * This is a plain array lookup for registered releases. Other versions, such as pre-releases,
+     * are placed among the registered releases by a binary search.
+     *
+     * @param version the version
+     * @return the previous registered release, or null if there is none
+     */
+    public static @Nullable MinecraftVersion predecessor(MinecraftVersion version) {
+        int ordinal = ordinal(version);
+        int previous = (ordinal != UNKNOWN ? ordinal : insertionPoint(version)) - 1;
+        return previous >= 0 ? RELEASES.get(previous) : null;
+    }
+
+    /**
+     * Gets the ordinal of the first registered release after the given unregistered version.
+     */
+    private static int insertionPoint(MinecraftVersion version) {
+        int low = 0;
+        int high = RELEASES.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (RELEASES.get(mid).isBefore(version)) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the release with the given ordinal.
+     *
+     * @param ordinal the ordinal
+     * @return the release
+     * @throws IndexOutOfBoundsException if no release has the ordinal
+     */
+    public static MinecraftVersion byOrdinal(int ordinal) {
+        return RELEASES.get(ordinal);
+    }
+}
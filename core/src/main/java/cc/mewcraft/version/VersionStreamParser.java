@@ -0,0 +1,379 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Parses version strings from newline-delimited ASCII data, such as logs or CSV exports,
+ * without decoding the records to {@link String}s.
+ * <p>
+ * Each record, without its surrounding whitespace such as a {@code \r} line ending, is parsed
+ * with {@link VersionKey#parse(ByteBuffer, int, int)} and handed to a {@link KeyConsumer} as a
+ * primitive key. Blank records are skipped, and records which can't be parsed are handed over
+ * as {@link VersionKey#INVALID}.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+@DefaultQualifier(NonNull.class)
+public final class VersionStreamParser {
+
+    /**
+     * Consumes the keys of parsed records.
+     */
+    @FunctionalInterface
+    public interface KeyConsumer {
+        /**
+         * Consumes the key of a record.
+         *
+         * @param key the key, or {@link VersionKey#INVALID} if the record can't be parsed
+         */
+        void accept(long key);
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final long MAX_MAPPING_SIZE = 1L << 30;
+    private static final int NO_DELIMITER = -1;
+
+    /**
+     * Creates a parser for records that are a version string each.
+     *
+     * @return the parser
+     */
+    public static VersionStreamParser lines() {
+        return new VersionStreamParser(NO_DELIMITER, 0);
+    }
+
+    /**
+     * Creates a parser for records of delimiter-separated fields, with the version string in
+     * the given column.
+     * <p>
+     * Surrounding double quotes are stripped from the field. Quoted fields can't contain
+     * the delimiter.
+     *
+     * @param delimiter the ASCII field delimiter, e.g. {@code ','}
+     * @param column    the zero-based index of the field with the version string
+     * @return the parser
+     */
+    public static VersionStreamParser csv(char delimiter, int column) {
+        if (delimiter > 0x7F || delimiter == '\n') {
+            throw new IllegalArgumentException("Not a valid delimiter: " + delimiter);
+        }
+        if (column < 0) {
+            throw new IllegalArgumentException("column cannot be negative: " + column);
+        }
+        return new VersionStreamParser(delimiter, column);
+    }
+
+    /**
+     * Adapts a consumer of versions to a {@link KeyConsumer}.
+     * <p>
+     * The consumer is given null for records which can't be parsed. The versions of recently seen
+     * keys are remembered, so records of the same version don't allocate. The returned consumer
+     * is not thread-safe.
+     *
+     * @param consumer the consumer of versions
+     * @return the consumer of keys
+     */
+    public static KeyConsumer versions(Consumer<? super @Nullable MinecraftVersion> consumer) {
+        Objects.requireNonNull(consumer, "consumer");
+        return new VersionConsumer(consumer);
+    }
+
+    private final int delimiter;
+    private final int column;
+
+    private VersionStreamParser(int delimiter, int column) {
+        this.delimiter = delimiter;
+        this.column = column;
+    }
+
+    /**
+     * Parses all records between the position and the limit of the buffer.
+     * <p>
+     * The last record doesn't need to end with a newline. The position of the buffer is not changed.
+     *
+     * @param buffer   the buffer
+     * @param consumer the consumer of the keys
+     */
+    public void parse(ByteBuffer buffer, KeyConsumer consumer) {
+        Objects.requireNonNull(buffer, "buffer");
+        Objects.requireNonNull(consumer, "consumer");
+        parseRecords(buffer, buffer.position(), buffer.limit(), true, consumer);
+    }
+
+    /**
+     * Parses all records read from the channel, until the end of the stream.
+     * <p>
+     * The channel is read in chunks into a reused buffer, so the data can be arbitrarily large.
+     * Records longer than a chunk are handed over as {@link VersionKey#INVALID}. The channel should
+     * be in blocking mode, and is not closed by this method.
+     *
+     * @param channel  the channel
+     * @param consumer the consumer of the keys
+     * @throws IOException if reading from the channel fails
+     */
+    public void parse(ReadableByteChannel channel, KeyConsumer consumer) throws IOException {
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(consumer, "consumer");
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_CHUNK_SIZE);
+        boolean discarding = false; // Whether we are skipping the rest of an overlong record
+        while (true) {
+            boolean endOfInput = channel.read(buffer) < 0;
+            buffer.flip();
+
+            int start = 0;
+            if (discarding) {
+                int newline = indexOfNewline(buffer, 0, buffer.limit());
+                if (newline < 0) {
+                    buffer.clear();
+                    if (endOfInput) {
+                        return;
+                    }
+                    continue;
+                }
+                discarding = false;
+                start = newline + 1;
+            }
+
+            int consumed = parseRecords(buffer, start, buffer.limit(), endOfInput, consumer);
+            if (endOfInput) {
+                return;
+            }
+            if (consumed == 0 && buffer.limit() == buffer.capacity()) {
+                // The record doesn't fit in the buffer
+                consumer.accept(VersionKey.INVALID);
+                discarding = true;
+                buffer.clear();
+            } else {
+                buffer.position(consumed);
+                buffer.compact();
+            }
+        }
+    }
+
+    /**
+     * Parses all records of the file, by memory-mapping it.
+     *
+     * @param file     the file
+     * @param consumer the consumer of the keys
+     * @throws IOException if reading the file fails
+     */
+    public void parse(Path file, KeyConsumer consumer) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(consumer, "consumer");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            parseRange(channel, 0, channel.size(), consumer);
+        }
+    }
+
+    /**
+     * Parses all records of the file in parallel, by splitting it into ranges of whole records
+     * and memory-mapping each range.
+     * <p>
+     * Each split gets its own consumer, so consumers don't need to be thread-safe; the caller
+     * combines their results once the returned future completes.
+     *
+     * @param file      the file
+     * @param splits    the number of splits, at least 1
+     * @param executor  the executor to run the splits on
+     * @param consumers the consumer of each split, by the index of the split
+     * @return a future which completes once all splits are parsed
+     * @throws IOException if splitting the file fails
+     */
+    public CompletableFuture<Void> parse(Path file, int splits, Executor executor, IntFunction<? extends KeyConsumer> consumers) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(executor, "executor");
+        Objects.requireNonNull(consumers, "consumers");
+        if (splits < 1) {
+            throw new IllegalArgumentException("splits must be at least 1: " + splits);
+        }
+
+        long[] boundaries = new long[splits + 1];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            boundaries[splits] = size;
+            for (int i = 1; i < splits; i++) {
+                long target = Math.max(size / splits * i, boundaries[i - 1]);
+                boundaries[i] = nextRecordStart(channel, target, size);
+            }
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[splits];
+        for (int i = 0; i < splits; i++) {
+            long from = boundaries[i];
+            long to = boundaries[i + 1];
+            KeyConsumer consumer = Objects.requireNonNull(consumers.apply(i), "consumer");
+            futures[i] = CompletableFuture.runAsync(() -> {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    parseRange(channel, from, to, consumer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Finds the start of the first record at or after the given offset, i.e. the offset
+     * after the next newline (or the offset itself, if it follows a newline).
+     */
+    private static long nextRecordStart(FileChannel channel, long offset, long size) throws IOException {
+        if (offset == 0 || offset >= size) {
+            return Math.min(offset, size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = offset - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            int newline = indexOfNewline(buffer, 0, read);
+            if (newline >= 0) {
+                return position + newline + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses the records in the given range of the file, mapping at most {@link #MAX_MAPPING_SIZE}
+     * bytes at a time.
+     */
+    private void parseRange(FileChannel channel, long from, long to, KeyConsumer consumer) throws IOException {
+        long position = from;
+        while (position < to) {
+            long length = Math.min(to - position, MAX_MAPPING_SIZE);
+            boolean endOfInput = position + length == to;
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            int consumed = parseRecords(mapping, 0, (int) length, endOfInput, consumer);
+            if (consumed == 0 && !endOfInput) {
+                // A record longer than a whole mapping can't be a version
+                consumer.accept(VersionKey.INVALID);
+                consumed = (int) length;
+            }
+            position += consumed;
+        }
+    }
+
+    private static int indexOfNewline(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the complete records in the given range of the buffer.
+     *
+     * @param endOfInput whether the range ends the input, so that a last record without a newline is complete
+     * @return the offset after the last parsed record
+     */
+    private int parseRecords(ByteBuffer buffer, int from, int to, boolean endOfInput, KeyConsumer consumer) {
+        int start = from;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '\n') {
+                parseRecord(buffer, start, i, consumer);
+                start = i + 1;
+            }
+        }
+        if (endOfInput && start < to) {
+            parseRecord(buffer, start, to, consumer);
+            start = to;
+        }
+        return start;
+    }
+
+    private void parseRecord(ByteBuffer buffer, int from, int to, KeyConsumer consumer) {
+        if (isBlank(buffer, from, to)) {
+            return;
+        }
+
+        if (this.delimiter != NO_DELIMITER) {
+            // Find the bounds of the field
+            for (int field = 0; field < this.column; field++) {
+                while (from < to && buffer.get(from) != this.delimiter) from++;
+                if (from == to) {
+                    consumer.accept(VersionKey.INVALID);
+                    return;
+                }
+                from++;
+            }
+            int end = from;
+            while (end < to && buffer.get(end) != this.delimiter) end++;
+            to = end;
+        }
+
+        // Strip the line ending and the padding, then the quotes
+        while (from < to && (buffer.get(from) & 0xFF) <= ' ') from++;
+        while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') to--;
+        if (this.delimiter != NO_DELIMITER && to - from >= 2 && buffer.get(from) == '"' && buffer.get(to - 1) == '"') {
+            from++;
+            to--;
+        }
+
+        consumer.accept(VersionKey.parse(buffer, from, to));
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps keys to versions, remembering the versions of recently seen keys.
+     */
+    private static final class VersionConsumer implements KeyConsumer {
+        private static final int CACHE_SIZE = 64; // Must be a power of two
+
+        private final Consumer<? super @Nullable MinecraftVersion> consumer;
+        private final long[] keys = new long[CACHE_SIZE];
+        private final @Nullable MinecraftVersion[] versions = new MinecraftVersion[CACHE_SIZE];
+
+        private VersionConsumer(Consumer<? super @Nullable MinecraftVersion> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(long key) {
+            if (key == VersionKey.INVALID) {
+                this.consumer.accept(null);
+                return;
+            }
+            int slot = (int) (key ^ key >>> 29 ^ key >>> 47) & (CACHE_SIZE - 1);
+            MinecraftVersion version = this.versions[slot];
+            if (version == null || this.keys[slot] != key) {
+                version = VersionKey.toVersion(key);
+                this.keys[slot] = key;
+                this.versions[slot] = version;
+            }
+            this.consumer.accept(version);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts how many clients use each Minecraft version, e.g. to report which versions are online.
+ * <p>
+ * There is a counter for each {@link VersionRegistry registered} release, indexed by its ordinal,
+ * and one overflow counter for all other versions. Each counter is split into stripes, and each
+ * stripe sits on a cache line of its own, so that threads updating the same version rarely
+ * contend. Updates are lock-free and don't allocate. Reads sum up the stripes, see {@link #snapshot()}.
+ */
+@DefaultQualifier(NonNull.class)
+public final class VersionUsageTracker {
+
+    /**
+     * The number of longs per stripe, to keep each stripe on a 64-byte cache line of its own.
+     */
+    private static final int PADDING = 8;
+
+    /**
+     * The upper bound of the number of stripes.
+     */
+    private static final int MAX_STRIPES = 64;
+
+    /**
+     * The bucket of versions which are not registered, after the buckets of the registered releases.
+     */
+    private static final int UNKNOWN_BUCKET = VersionRegistry.size();
+    private static final int BUCKETS = UNKNOWN_BUCKET + 1;
+
+    // Counter of bucket b, stripe s is at (b * stripes + s + 1) * PADDING; the lines around them are left empty
+    private final AtomicLongArray counters;
+    private final int stripeMask;
+
+    /**
+     * Creates a tracker with a stripe count suited to the available processors.
+     */
+    public VersionUsageTracker() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a tracker with the given number of stripes.
+     * <p>
+     * The number is rounded up to a power of two, and capped at 64.
+     *
+     * @param stripes the number of stripes
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    public VersionUsageTracker(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int capped = Math.min(MAX_STRIPES, stripes);
+        int rounded = capped == 1 ? 1 : Integer.highestOneBit(capped - 1) << 1;
+        this.stripeMask = rounded - 1;
+        this.counters = new AtomicLongArray((BUCKETS * rounded + 2) * PADDING);
+    }
+
+    /**
+     * Counts one more client on the given version.
+     *
+     * @param version the version
+     */
+    public void increment(MinecraftVersion version) {
+        add(version, 1);
+    }
+
+    /**
+     * Counts one less client on the given version.
+     *
+     * @param version the version
+     */
+    public void decrement(MinecraftVersion version) {
+        add(version, -1);
+    }
+
+    /**
+     * Adds the delta to the count of the given version.
+     *
+     * @param version the version
+     * @param delta   the delta
+     */
+    public void add(MinecraftVersion version, long delta) {
+        Objects.requireNonNull(version, "version");
+        int ordinal = VersionRegistry.ordinal(version);
+        this.counters.getAndAdd(index(ordinal != VersionRegistry.UNKNOWN ? ordinal : UNKNOWN_BUCKET, stripe()), delta);
+    }
+
+    /**
+     * Adds the delta to the count of the release with the given ordinal, for callers which
+     * already keep the {@link VersionRegistry#ordinal(MinecraftVersion) ordinal} of a client.
+     *
+     * @param ordinal the ordinal, or {@link VersionRegistry#UNKNOWN} for versions which are not registered
+     * @param delta   the delta
+     * @throws IllegalArgumentException if the ordinal is invalid
+     */
+    public void add(int ordinal, long delta) {
+        if (ordinal == VersionRegistry.UNKNOWN) {
+            ordinal = UNKNOWN_BUCKET;
+        } else if (ordinal < 0 || ordinal >= UNKNOWN_BUCKET) {
+            throw new IllegalArgumentException("Invalid ordinal: " + ordinal);
+        }
+        this.counters.getAndAdd(index(ordinal, stripe()), delta);
+    }
+
+    /**
+     * Reads all counters.
+     * <p>
+     * Each counter is read atomically, but the counters are not read at the same instant, so
+     * updates which happen meanwhile may or may not be seen.
+     *
+     * @return the counts
+     */
+    public Snapshot snapshot() {
+        int stripes = this.stripeMask + 1;
+        long[] counts = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long sum = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                sum += this.counters.get(index(bucket, stripe));
+            }
+            counts[bucket] = sum;
+        }
+        return new Snapshot(counts);
+    }
+
+    private int index(int bucket, int stripe) {
+        return (bucket * (this.stripeMask + 1) + stripe + 1) * PADDING;
+    }
+
+    /**
+     * Picks the stripe of the current thread. Netty and server threads are long-lived, so a
+     * hash of the thread id spreads them well enough.
+     */
+    @SuppressWarnings("deprecation") // Thread#threadId() is not available on Java 17
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 32) & this.stripeMask;
+    }
+
+    /**
+     * The counts of a {@link VersionUsageTracker} at some point in time.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+        }
+
+        /**
+         * Gets the count of the given version.
+         * <p>
+         * The counts of versions which are not registered are not kept apart, so for such a
+         * version this is the same as {@link #unknown()}.
+         *
+         * @param version the version
+         * @return the count
+         */
+        public long get(MinecraftVersion version) {
+            Objects.requireNonNull(version, "version");
+            int ordinal = VersionRegistry.ordinal(version);
+            return this.counts[ordinal != VersionRegistry.UNKNOWN ? ordinal : UNKNOWN_BUCKET];
+        }
+
+        /**
+         * Gets the count of the release with the given ordinal.
+         *
+         * @param ordinal the ordinal
+         * @return the count
+         * @throws IndexOutOfBoundsException if no release has the ordinal
+         */
+        public long get(int ordinal) {
+            return this.counts[Objects.checkIndex(ordinal, UNKNOWN_BUCKET)];
+        }
+
+        /**
+         * Gets the count of all versions which are not registered.
+         *
+         * @return the count
+         */
+        public long unknown() {
+            return this.counts[UNKNOWN_BUCKET];
+        }
+
+        /**
+         * Gets the count of all versions.
+         *
+         * @return the count
+         */
+        public long total() {
+            long total = 0;
+            for (long count : this.counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Gets the count of the registered releases in the given set.
+         * <p>
+         * Versions of the set which are not registered are ignored.
+         *
+         * @param versions the versions
+         * @return the count
+         */
+        public long count(MinecraftVersionSet versions) {
+            Objects.requireNonNull(versions, "versions");
+            long sum = 0;
+            for (int ordinal = 0; ordinal < UNKNOWN_BUCKET; ordinal++) {
+                if (this.counts[ordinal] != 0 && versions.contains(VersionRegistry.byOrdinal(ordinal))) {
+                    sum += this.counts[ordinal];
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Gets the count of the registered releases between the two given versions, both inclusive.
+         *
+         * @param from the lower bound
+         * @param to   the upper bound
+         * @return the count
+         */
+        public long count(MinecraftVersion from, MinecraftVersion to) {
+            Objects.requireNonNull(from, "from");
+            Objects.requireNonNull(to, "to");
+            long sum = 0;
+            for (int ordinal = 0; ordinal < UNKNOWN_BUCKET; ordinal++) {
+                if (VersionRegistry.byOrdinal(ordinal).isBetween(from, to)) {
+                    sum += this.counts[ordinal];
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Gets the count of the releases of the given {@link NmsVersion}.
+         *
+         * @param nmsVersion the NMS version
+         * @return the count
+         */
+        public long count(NmsVersion nmsVersion) {
+            return count(nmsVersion.getMinecraftVersionSet());
+        }
+
+        /**
+         * Gets the counts of the registered releases, in release order.
+         * <p>
+         * Releases with a count of zero are left out.
+         *
+         * @return the counts
+         */
+        public Map<MinecraftVersion, Long> byVersion() {
+            Map<MinecraftVersion, Long> map = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < UNKNOWN_BUCKET; ordinal++) {
+                if (this.counts[ordinal] != 0) {
+                    map.put(VersionRegistry.byOrdinal(ordinal), this.counts[ordinal]);
+                }
+            }
+            return Collections.unmodifiableMap(map);
+        }
+
+        /**
+         * Gets the counts of the registered releases, summed up by {@link NmsVersion}.
+         * <p>
+         * NMS versions with a count of zero are left out.
+         *
+         * @return the counts
+         */
+        public Map<NmsVersion, Long> byNmsVersion() {
+            Map<NmsVersion, Long> map = new EnumMap<>(NmsVersion.class);
+            for (int ordinal = 0; ordinal < UNKNOWN_BUCKET; ordinal++) {
+                if (this.counts[ordinal] != 0) {
+                    map.merge(NmsVersion.forMinecraftVersion(VersionRegistry.byOrdinal(ordinal)), this.counts[ordinal], Long::sum);
+                }
+            }
+            return Collections.unmodifiableMap(map);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" + byVersion() + ", unknown=" + unknown() + "}";
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails the build if a hot path allocates more than its budget.
+ * <p>
+ * The budgets are averages over many invocations, in bytes per invocation. A budget of zero
+ * is checked against a small tolerance, because the allocation counter itself is not perfectly
+ * quiet (e.g. class loading or JIT activity on the measuring thread).
+ */
+public class AllocationBudgetTest {
+
+    /**
+     * Tolerated noise, in bytes per invocation, for operations with a budget of zero.
+     */
+    private static final double NOISE = 1.0;
+
+    private static final double PARSE_CACHED_BUDGET = 0;
+    private static final double COMPARE_TO_BUDGET = 0;
+    private static final double FOR_MINECRAFT_VERSION_BUDGET = 0;
+    private static final double NMS_CLASS_CACHED_BUDGET = 0;
+    private static final double FORMAT_BUDGET = 0;
+    private static final double KEY_PARSE_BUDGET = 0;
+    private static final double VIEW_COMPARE_BUDGET = 0;
+    private static final double USAGE_INCREMENT_BUDGET = 0;
+
+    private static void assertWithinBudget(String name, double budget, Allocations.Operation operation) throws Exception {
+        double actual = Allocations.bytesPerOperation(operation);
+        assertTrue(actual <= budget + NOISE, () -> name + " allocated " + actual + " bytes/op, budget is " + budget + " bytes/op");
+    }
+
+    @Test
+    public void testParseCached() throws Exception {
+        String release = "1.20.4";
+        String preRelease = "1.21-pre1";
+        MinecraftVersion.parse(release);
+        MinecraftVersion.parse(preRelease);
+
+        assertWithinBudget("parse(release)", PARSE_CACHED_BUDGET, () -> MinecraftVersion.parse(release));
+        assertWithinBudget("parse(pre-release)", PARSE_CACHED_BUDGET, () -> MinecraftVersion.parse(preRelease));
+    }
+
+    @Test
+    public void testCompareTo() throws Exception {
+        MinecraftVersion a = MinecraftVersion.parse("1.20.4");
+        MinecraftVersion b = MinecraftVersion.parse("1.20.4-rc1");
+        MinecraftVersion c = MinecraftVersion.of(1, 19, 4);
+
+        assertWithinBudget("compareTo", COMPARE_TO_BUDGET, () -> a.compareTo(b) + b.compareTo(c) + c.compareTo(a) == 0 ? a : b);
+    }
+
+    @Test
+    public void testForMinecraftVersion() throws Exception {
+        MinecraftVersion known = MinecraftVersion.of(1, 20, 4);
+        MinecraftVersion unknown = MinecraftVersion.of(1, 16, 5);
+
+        assertWithinBudget("forMinecraftVersion(known)", FOR_MINECRAFT_VERSION_BUDGET, () -> NmsVersion.forMinecraftVersion(known));
+        assertWithinBudget("forMinecraftVersion(unknown)", FOR_MINECRAFT_VERSION_BUDGET, () -> NmsVersion.forMinecraftVersion(unknown));
+    }
+
+    @Test
+    public void testNmsClassCached() throws Exception {
+        NmsVersion.v1_20_R4.nmsClass("MinecraftFixture");
+
+        assertWithinBudget("nmsClass", NMS_CLASS_CACHED_BUDGET, () -> NmsVersion.v1_20_R4.nmsClass("MinecraftFixture"));
+    }
+
+    @Test
+    public void testFormat() throws Exception {
+        MinecraftVersion release = MinecraftVersion.parse("1.20.4");
+        MinecraftVersion preRelease = MinecraftVersion.parse("1.21-pre1");
+        StringBuilder builder = new StringBuilder(64);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        assertWithinBudget("getVersion", FORMAT_BUDGET, release::getVersion);
+        assertWithinBudget("toString", FORMAT_BUDGET, preRelease::toString);
+        assertWithinBudget("appendTo", FORMAT_BUDGET, () -> {
+            builder.setLength(0);
+            return preRelease.appendTo(builder);
+        });
+        assertWithinBudget("writeTo", FORMAT_BUDGET, () -> {
+            buffer.clear();
+            return release.writeTo(buffer);
+        });
+    }
+
+    @Test
+    public void testKeyParse() throws Exception {
+        ByteBuffer release = ByteBuffer.wrap("1.20.4".getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer preRelease = ByteBuffer.wrap("1.21-pre1".getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer snapshot = ByteBuffer.wrap("24w33a".getBytes(StandardCharsets.US_ASCII));
+
+        // The operations return a buffer rather than the key, so the key isn't boxed
+        assertWithinBudget("VersionKey.parse(release)", KEY_PARSE_BUDGET, () -> VersionKey.parse(release, 0, release.limit()) != VersionKey.INVALID ? release : null);
+        assertWithinBudget("VersionKey.parse(pre-release)", KEY_PARSE_BUDGET, () -> VersionKey.parse(preRelease, 0, preRelease.limit()) != VersionKey.INVALID ? preRelease : null);
+        assertWithinBudget("VersionKey.parse(snapshot)", KEY_PARSE_BUDGET, () -> VersionKey.parse(snapshot, 0, snapshot.limit()) != VersionKey.INVALID ? snapshot : null);
+    }
+
+    @Test
+    public void testViewCompare() throws Exception {
+        MinecraftVersionView view = new MinecraftVersionView();
+        String older = "1.19.4";
+        String preRelease = "1.21-pre1";
+
+        assertWithinBudget("view compareTo(older)", VIEW_COMPARE_BUDGET, () -> view.reset(older).isAfterOrEq(MinecraftVersions.v1_20_5) ? older : null);
+        assertWithinBudget("view compareTo(pre-release)", VIEW_COMPARE_BUDGET, () -> view.reset(preRelease).isAfterOrEq(MinecraftVersions.v1_21) ? preRelease : null);
+    }
+
+    @Test
+    public void testUsageIncrement() throws Exception {
+        VersionUsageTracker tracker = new VersionUsageTracker();
+        MinecraftVersion known = MinecraftVersions.v1_20_5;
+        MinecraftVersion unknown = MinecraftVersion.of(1, 16, 5);
+
+        assertWithinBudget("increment(known)", USAGE_INCREMENT_BUDGET, () -> {
+            tracker.increment(known);
+            return tracker;
+        });
+        assertWithinBudget("increment(unknown)", USAGE_INCREMENT_BUDGET, () -> {
+            tracker.increment(unknown);
+            return tracker;
+        });
+    }
+}
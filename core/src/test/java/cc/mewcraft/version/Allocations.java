@@ -0,0 +1,67 @@
+package cc.mewcraft.version;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the heap allocations of the current thread, using the per-thread
+ * allocated-bytes counter of the HotSpot {@link com.sun.management.ThreadMXBean}.
+ */
+final class Allocations {
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    /**
+     * Keeps the results of the measured operations alive, so the JIT can't eliminate them.
+     */
+    static volatile Object sink;
+
+    private Allocations() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * An operation whose allocations are measured.
+     */
+    @FunctionalInterface
+    interface Operation {
+        Object run() throws Exception;
+    }
+
+    /**
+     * Runs the operation until it is warmed up, then returns the average number of bytes
+     * it allocates per invocation.
+     *
+     * @param operation the operation to measure
+     * @return the allocated bytes per invocation
+     */
+    static double bytesPerOperation(Operation operation) throws Exception {
+        com.sun.management.ThreadMXBean bean = threadMXBean();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+
+        long before = bean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink = operation.run();
+        }
+        long after = bean.getCurrentThreadAllocatedBytes();
+
+        return (double) (after - before) / MEASURED_ITERATIONS;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "per-thread allocation counters are not available");
+
+        com.sun.management.ThreadMXBean hotspotBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(hotspotBean.isThreadAllocatedMemorySupported(), "per-thread allocation counters are not supported");
+        if (!hotspotBean.isThreadAllocatedMemoryEnabled()) {
+            hotspotBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return hotspotBean;
+    }
+}
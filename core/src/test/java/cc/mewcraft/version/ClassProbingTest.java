@@ -0,0 +1,59 @@
+package cc.mewcraft.version;
+
+import net.minecraft.InitializationFixture;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClassProbingTest {
+
+    private static final String FIXTURE = "InitializationFixture";
+
+    /**
+     * Checks the side effect of the static initializer of the fixture. The property name is a
+     * compile-time constant, so reading it doesn't initialize the fixture either.
+     */
+    private static boolean initialized() {
+        return System.getProperty(InitializationFixture.INITIALIZED_PROPERTY) != null;
+    }
+
+    @Test
+    public void testProbingDoesNotInitialize() throws Exception {
+        NmsVersion version = NmsVersion.v1_20_R4;
+
+        assertTrue(version.hasNmsClass(FIXTURE));
+        assertFalse(version.hasNmsClass("DoesNotExist"));
+        assertEquals(Set.of("DoesNotExist"), version.missingNmsClasses(List.of(FIXTURE, "MinecraftFixture", "DoesNotExist")));
+
+        Class<?> clazz = version.loadNmsClass(FIXTURE);
+        assertEquals("net.minecraft." + FIXTURE, clazz.getName());
+        assertThrows(ClassNotFoundException.class, () -> version.loadNmsClass("DoesNotExist"));
+
+        assertFalse(initialized());
+        version.nmsClass(FIXTURE);
+        assertTrue(initialized());
+    }
+
+    @Test
+    public void testProbingThroughLoader() throws Exception {
+        NmsVersion version = NmsVersion.v1_20_R4;
+
+        // A loader which only sees the platform classes, like a plugin class loader doesn't see the server classes
+        try (URLClassLoader blind = new URLClassLoader(new URL[0], null)) {
+            assertFalse(version.hasNmsClass(FIXTURE, blind));
+            assertEquals(Set.of(FIXTURE, "MinecraftFixture"), version.missingNmsClasses(List.of(FIXTURE, "MinecraftFixture"), blind));
+        }
+
+        ClassLoader loader = ClassProbingTest.class.getClassLoader();
+        assertTrue(version.hasNmsClass(FIXTURE, loader));
+        assertEquals(Set.of(), version.missingNmsClasses(List.of(FIXTURE, "MinecraftFixture"), loader));
+    }
+}
@@ -0,0 +1,62 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrentIndexTest {
+
+    @Test
+    public void testBatch() {
+        ConcurrentIndex<String, NmsVersion> index = Indexing.concurrent(List.of(NmsVersion.v1_20_R3), Enum::name);
+        Map<String, NmsVersion> before = index.snapshot();
+
+        index.batch()
+                .put("latest", NmsVersion.v1_21_R1)
+                .putAll(List.of(NmsVersion.v1_20_R4), Enum::name)
+                .commit();
+
+        assertEquals(NmsVersion.v1_21_R1, index.get("latest"));
+        assertEquals(NmsVersion.v1_20_R4, index.get("v1_20_R4"));
+        assertEquals(NmsVersion.v1_20_R3, index.get("v1_20_R3"));
+        assertEquals(1, before.size());
+
+        index.batch().remove("latest").put("latest", NmsVersion.v1_20_R4).commit();
+        assertEquals(NmsVersion.v1_20_R4, index.get("latest"));
+    }
+
+    @Test
+    public void testOrder() {
+        List<NmsVersion> values = List.of(NmsVersion.v1_21_R1, NmsVersion.v1_17_R1, NmsVersion.v1_20_R3, NmsVersion.v1_18_R2, NmsVersion.v1_19_R3);
+        List<String> names = values.stream().map(Enum::name).toList();
+        assertEquals(names, new ArrayList<>(Indexing.build(values, Enum::name).keySet()));
+
+        ConcurrentIndex<String, NmsVersion> index = Indexing.concurrent(values, Enum::name);
+        index.batch().put("latest", NmsVersion.v1_21_R1).commit();
+        List<String> expected = new ArrayList<>(names);
+        expected.add("latest");
+        assertEquals(expected, new ArrayList<>(index.snapshot().keySet()));
+    }
+
+    @Test
+    public void testDuplicates() {
+        ConcurrentIndex<String, NmsVersion> index = Indexing.concurrent(List.of(NmsVersion.v1_20_R3), Enum::name);
+
+        ConcurrentIndex<String, NmsVersion>.Batch batch = index.batch()
+                .put("latest", NmsVersion.v1_21_R1)
+                .put("v1_20_R3", NmsVersion.v1_20_R4);
+        assertThrows(IllegalStateException.class, batch::commit);
+
+        // Nothing of the failed batch is published
+        assertNull(index.get("latest"));
+        assertEquals(NmsVersion.v1_20_R3, index.get("v1_20_R3"));
+
+        assertThrows(IllegalStateException.class, () -> index.batch().put("a", NmsVersion.v1_21_R1).put("a", NmsVersion.v1_20_R4));
+    }
+}
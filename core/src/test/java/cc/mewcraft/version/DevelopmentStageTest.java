@@ -0,0 +1,52 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DevelopmentStageTest {
+
+    @Test
+    public void testStageParsing() {
+        assertEquals(DevelopmentStage.RELEASE, MinecraftVersion.parse("1.21").getStage());
+        assertEquals(DevelopmentStage.PRE_RELEASE, MinecraftVersion.parse("1.21-pre2").getStage());
+        assertEquals(2, MinecraftVersion.parse("1.21-pre2").getStageNumber());
+        assertEquals(DevelopmentStage.RELEASE_CANDIDATE, MinecraftVersion.parse("1.21-rc1").getStage());
+        assertEquals(DevelopmentStage.SNAPSHOT, MinecraftVersion.parse("24w33a").getStage());
+        assertEquals(DevelopmentStage.UNKNOWN, MinecraftVersion.parse("1.21-pre02").getStage());
+        assertEquals(DevelopmentStage.UNKNOWN, MinecraftVersion.parse("1.21-foo").getStage());
+    }
+
+    @Test
+    public void testStageOrdering() {
+        MinecraftVersion snapshot = MinecraftVersion.parse("24w21b");
+        MinecraftVersion pre1 = MinecraftVersion.parse("1.21-pre1");
+        MinecraftVersion pre10 = MinecraftVersion.parse("1.21-pre10");
+        MinecraftVersion rc1 = MinecraftVersion.parse("1.21-rc1");
+        MinecraftVersion release = MinecraftVersion.parse("1.21");
+
+        assertTrue(snapshot.isBefore(pre1));
+        assertTrue(pre1.isBefore(pre10));
+        assertTrue(pre10.isBefore(rc1));
+        assertTrue(rc1.isBefore(release));
+        assertTrue(MinecraftVersion.parse("24w18a").isBefore(snapshot));
+    }
+
+    @Test
+    public void testKnownSnapshots() {
+        assertEquals(MinecraftVersion.of(1, 21, 0), MinecraftVersion.parse("24w21b").getRelease());
+        assertEquals(MinecraftVersion.of(1, 21, 2), MinecraftVersion.parse("24w33a").getRelease());
+        assertEquals(MinecraftVersion.of(1, 20, 5), MinecraftVersion.parse("23w51a").getRelease());
+        assertEquals(MinecraftVersion.of(1, 20, 5), MinecraftVersion.parse("24w14a").getRelease());
+        assertEquals(MinecraftVersion.of(1, 17, 0), MinecraftVersion.parse("20w45a").getRelease());
+    }
+
+    @Test
+    public void testRelease() {
+        MinecraftVersion release = MinecraftVersion.parse("1.20.4");
+        assertSame(release, release.getRelease());
+        assertEquals(release, MinecraftVersion.parse("1.20.4-rc1").getRelease());
+    }
+}
@@ -0,0 +1,39 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FormattingTest {
+
+    private static byte[] written(MinecraftVersion version) {
+        ByteBuffer buffer = version.writeTo(ByteBuffer.allocate(64));
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    @Test
+    public void testWriteToEncodesUtf8() {
+        // The same bytes as String#getBytes, which also replaces the unpaired surrogate by '?'
+        for (String input : List.of("1.20.4", "1.21-pre1", "1.20.4-\u00E9", "1.20.4-\u65E5\u672C", "1.20.4-\uD83D\uDE00", "1.20.4-\uD83D")) {
+            MinecraftVersion version = MinecraftVersion.parse(input);
+            assertArrayEquals(version.getVersion().getBytes(StandardCharsets.UTF_8), written(version), () -> "writeTo of \"" + input + "\"");
+        }
+    }
+
+    @Test
+    public void testWriteToOverflow() {
+        // 8 chars, but 9 bytes
+        MinecraftVersion version = MinecraftVersion.parse("1.20.4-\u00E9");
+        ByteBuffer buffer = ByteBuffer.allocate(version.getVersion().length());
+        assertThrows(BufferOverflowException.class, () -> version.writeTo(buffer));
+        assertEquals(0, buffer.position());
+    }
+}
@@ -0,0 +1,72 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MinecraftVersionSetTest {
+
+    private static final MinecraftVersion OLD = MinecraftVersion.parse("1.16.5");
+    private static final MinecraftVersion PRE_RELEASE = MinecraftVersion.parse("1.21-pre1");
+
+    @Test
+    public void testContains() {
+        MinecraftVersionSet set = MinecraftVersionSet.of(MinecraftVersions.v1_20_4, OLD, PRE_RELEASE);
+
+        assertTrue(set.contains(MinecraftVersion.of(1, 20, 4)));
+        assertTrue(set.contains(OLD));
+        assertTrue(set.contains(MinecraftVersion.parse("1.21-pre1")));
+        assertFalse(set.contains(MinecraftVersions.v1_20_3));
+        assertFalse(set.contains("1.20.4"));
+        assertEquals(3, set.cardinality());
+    }
+
+    @Test
+    public void testIterationOrder() {
+        MinecraftVersionSet set = MinecraftVersionSet.of(MinecraftVersions.v1_21, PRE_RELEASE, MinecraftVersions.v1_17, OLD, MinecraftVersions.v1_20_6);
+        assertEquals(List.of(OLD, MinecraftVersions.v1_17, MinecraftVersions.v1_20_6, PRE_RELEASE, MinecraftVersions.v1_21), new ArrayList<>(set));
+    }
+
+    @Test
+    public void testSetOperations() {
+        MinecraftVersionSet a = MinecraftVersionSet.range(MinecraftVersions.v1_19, MinecraftVersions.v1_20_4).union(MinecraftVersionSet.of(OLD));
+        MinecraftVersionSet b = MinecraftVersionSet.range(MinecraftVersions.v1_20, MinecraftVersions.v1_21).union(MinecraftVersionSet.of(OLD, PRE_RELEASE));
+
+        MinecraftVersionSet intersection = a.intersect(b);
+        assertEquals(MinecraftVersionSet.range(MinecraftVersions.v1_20, MinecraftVersions.v1_20_4).union(MinecraftVersionSet.of(OLD)), intersection);
+        assertEquals(6, intersection.cardinality());
+        assertTrue(a.containsAll(intersection));
+        assertTrue(a.intersects(b));
+
+        MinecraftVersionSet union = a.union(b);
+        assertTrue(union.containsAll(a));
+        assertTrue(union.containsAll(b));
+        assertEquals(Set.copyOf(union), union);
+    }
+
+    @Test
+    public void testSnapshots() {
+        // Snapshots of the same release are different versions
+        MinecraftVersion first = MinecraftVersion.parse("24w33a", true);
+        MinecraftVersion second = MinecraftVersion.parse("24w34a", true);
+        assertNotEquals(first, second);
+        MinecraftVersionSet set = MinecraftVersionSet.of(first, second, MinecraftVersion.parse("24w33a", true));
+
+        assertEquals(2, set.cardinality());
+        assertEquals(new HashSet<>(set), set);
+        assertEquals(set, new HashSet<>(set));
+        assertEquals(new HashSet<>(set).hashCode(), set.hashCode());
+        assertEquals(List.of(first, second), new ArrayList<>(set));
+        assertFalse(MinecraftVersionSet.of(first).contains(second));
+        assertEquals(2, MinecraftVersionSet.of(first).union(MinecraftVersionSet.of(second)).cardinality());
+        assertNotEquals(MinecraftVersionSet.of(first), MinecraftVersionSet.of(second));
+    }
+}
@@ -0,0 +1,40 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NmsCapabilityTest {
+
+    @Test
+    public void testBuiltIn() {
+        for (NmsVersion version : NmsVersion.values()) {
+            assertEquals(version.isObcRelocated(), version.has(NmsCapability.OBC_RELOCATED), version::name);
+        }
+        assertTrue(NmsVersion.v1_21_R1.has(NmsCapability.MOJANG_MAPPED));
+        assertFalse(NmsVersion.v1_20_R3.has(NmsCapability.COMPONENT_DATA));
+        assertEquals(0, NmsVersion.NONE.capabilities());
+    }
+
+    @Test
+    public void testRegister() {
+        NmsCapability capability = NmsCapability.builder("test:registered")
+                .version(NmsVersion.v1_17_R1)
+                .range(NmsVersion.v1_20_R3, NmsVersion.v1_20_R4)
+                .register();
+
+        assertSame(capability, NmsCapability.get("test:registered"));
+        assertTrue(NmsVersion.v1_17_R1.has(capability));
+        assertFalse(NmsVersion.v1_18_R2.has(capability));
+        assertTrue(NmsVersion.v1_20_R4.has(capability));
+        assertFalse(NmsVersion.v1_21_R1.has(capability));
+        assertEquals(1L << capability.bit(), NmsVersion.v1_20_R3.capabilities() & 1L << capability.bit());
+
+        assertThrows(IllegalStateException.class, () -> NmsCapability.builder("test:registered").register());
+        assertThrows(IllegalArgumentException.class, () -> NmsCapability.builder("test:backwards").range(NmsVersion.v1_21_R1, NmsVersion.v1_17_R1));
+    }
+}
@@ -0,0 +1,155 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks the fast parsing paths against the reference semantics of {@link MinecraftVersion#parse(String)},
+ * as implemented by {@link MinecraftVersion#parseUncached(String, boolean)}.
+ */
+public class ParseDifferentialTest {
+
+    private static final List<String> CORPUS = VersionCorpus.generate();
+
+    /**
+     * Parses the input with the reference parser, or returns the thrown exception type.
+     */
+    private static Object reference(String input, boolean parseSnapshot) {
+        try {
+            return MinecraftVersion.parseUncached(input, parseSnapshot);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static void assertSameVersion(String input, Object expected, Object actual) {
+        if (expected instanceof MinecraftVersion expectedVersion && actual instanceof MinecraftVersion actualVersion) {
+            assertEquals(expectedVersion, actualVersion, () -> "equals for \"" + input + "\"");
+            assertEquals(0, expectedVersion.compareTo(actualVersion), () -> "compareTo for \"" + input + "\"");
+            assertEquals(expectedVersion.toString(), actualVersion.toString(), () -> "toString for \"" + input + "\"");
+            assertEquals(expectedVersion.getSnapshot(), actualVersion.getSnapshot(), () -> "snapshot for \"" + input + "\"");
+        } else if (!Objects.equals(expected, actual)) {
+            fail("\"" + input + "\": expected " + expected + " but got " + actual);
+        }
+    }
+
+    @Test
+    public void testCachedParse() {
+        for (boolean parseSnapshot : new boolean[]{true, false}) {
+            for (String input : CORPUS) {
+                Object expected = reference(input, parseSnapshot);
+                // Parse twice, so that both the cache miss and the cache hit are covered
+                for (int i = 0; i < 2; i++) {
+                    Object actual;
+                    try {
+                        actual = MinecraftVersion.parse(input, parseSnapshot);
+                    } catch (RuntimeException e) {
+                        actual = e.getClass();
+                    }
+                    assertSameVersion(input, expected, actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the input with {@link VersionKey#parse(ByteBuffer, int, int)}, from the middle of a larger buffer.
+     */
+    private static long parseKey(String input) {
+        byte[] bytes = ("#" + input + "#").getBytes(StandardCharsets.US_ASCII);
+        return VersionKey.parse(ByteBuffer.wrap(bytes), 1, bytes.length - 1);
+    }
+
+    @Test
+    public void testKeyParse() {
+        for (String input : CORPUS) {
+            Object expected = reference(input, true);
+            long expectedKey = expected instanceof MinecraftVersion version ? VersionKey.of(version) : VersionKey.INVALID;
+            long actualKey = parseKey(input);
+            assertEquals(expectedKey, actualKey, () -> "key for \"" + input + "\"");
+
+            if (actualKey != VersionKey.INVALID) {
+                assertSameVersion(input, expected, VersionKey.toVersion(actualKey));
+            }
+        }
+    }
+
+    @Test
+    public void testKeyOrder() {
+        List<MinecraftVersion> versions = CORPUS.stream()
+                .map(input -> reference(input, true))
+                .filter(MinecraftVersion.class::isInstance)
+                .map(MinecraftVersion.class::cast)
+                .filter(version -> VersionKey.of(version) != VersionKey.INVALID)
+                .toList();
+
+        // Every version against a spread of others, to keep the test fast
+        for (int i = 0; i < versions.size(); i++) {
+            MinecraftVersion a = versions.get(i);
+            for (int j = i % 7; j < versions.size(); j += 7) {
+                MinecraftVersion b = versions.get(j);
+                int expected = Integer.signum(a.compareTo(b));
+                int actual = Long.signum(Long.compare(VersionKey.of(a), VersionKey.of(b)));
+                assertEquals(expected, actual, () -> "order of " + a + " and " + b);
+            }
+        }
+    }
+
+    @Test
+    public void testView() {
+        MinecraftVersionView view = new MinecraftVersionView();
+        List<MinecraftVersion> bounds = List.of(MinecraftVersions.v1_17, MinecraftVersions.v1_20_4, MinecraftVersion.parse("1.21-pre1"), MinecraftVersion.parse("24w33a"));
+
+        for (String input : CORPUS) {
+            Object expected = reference(input, true);
+            boolean encodable = expected instanceof MinecraftVersion version && VersionKey.of(version) != VersionKey.INVALID;
+            assertEquals(encodable, view.reset(input).isValid(), () -> "validity of \"" + input + "\"");
+            if (!encodable) {
+                assertThrows(IllegalArgumentException.class, () -> view.reset(input).materialize());
+                continue;
+            }
+
+            MinecraftVersion version = (MinecraftVersion) expected;
+            assertEquals(version.getMajor(), view.reset(input).getMajor(), () -> "major of \"" + input + "\"");
+            assertEquals(version.getMinor(), view.reset(input).getMinor(), () -> "minor of \"" + input + "\"");
+            assertEquals(version.getBuild(), view.reset(input).getBuild(), () -> "build of \"" + input + "\"");
+            for (MinecraftVersion bound : bounds) {
+                assertEquals(Integer.signum(version.compareTo(bound)), Integer.signum(view.reset(input).compareTo(bound)), () -> "\"" + input + "\" compared to " + bound);
+            }
+            assertSameVersion(input, expected, view.reset(input).materialize());
+        }
+    }
+
+    @Test
+    public void testViewComponentLimit() {
+        MinecraftVersionView view = new MinecraftVersionView();
+
+        // The largest component which fits in a key, and one more
+        assertEquals(4095, view.reset("1.4095.0").getMinor());
+        assertTrue(view.reset("1.4095.0").isValid());
+        assertThrows(IllegalArgumentException.class, () -> view.reset("1.4096.0").getMinor());
+        assertThrows(IllegalArgumentException.class, () -> view.reset("1.5000.0").getMinor());
+        assertEquals(1, view.reset("1.5000.0").getMajor());
+        assertFalse(view.reset("1.5000.0").isValid());
+    }
+
+    @Test
+    public void testViewEarlyExit() {
+        MinecraftVersionView view = new MinecraftVersionView();
+
+        // The minor component decides, so the malformed build component is never parsed
+        assertTrue(view.reset("1.21.garbage").isAfterOrEq(MinecraftVersions.v1_20_5));
+        assertFalse(view.reset("1.21.garbage").isValid());
+        assertThrows(IllegalArgumentException.class, () -> view.reset("1.21.garbage").isAfterOrEq(MinecraftVersions.v1_21_1));
+    }
+}
@@ -0,0 +1,70 @@
+package cc.mewcraft.version;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.ServiceConfigurationError;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class RuntimeVersionProviderTest {
+
+    /**
+     * Asked first, but can't tell.
+     */
+    public static final class Undecided implements RuntimeVersionProvider {
+        @Override
+        public @Nullable MinecraftVersion detect() {
+            return null;
+        }
+
+        @Override
+        public int priority() {
+            return 10;
+        }
+    }
+
+    public static final class Fixed implements RuntimeVersionProvider {
+        @Override
+        public MinecraftVersion detect() {
+            return MinecraftVersion.of(1, 20, 4);
+        }
+    }
+
+    @Test
+    public void testDetection() {
+        // The registered Missing provider doesn't exist and is skipped
+        assertEquals(MinecraftVersion.of(1, 20, 4), MinecraftVersion.getRuntimeVersion());
+        assertEquals(NmsVersion.v1_20_R3, NmsVersion.runtimeVersion());
+    }
+
+    @Test
+    public void testBrokenConfiguration() {
+        // An iterator which keeps failing at the same position, like one over a malformed configuration file
+        Iterator<RuntimeVersionProvider> broken = new Iterator<>() {
+            int calls;
+
+            @Override
+            public boolean hasNext() {
+                if (++this.calls > 1000) {
+                    fail("Kept iterating a broken configuration");
+                }
+                throw new ServiceConfigurationError("malformed");
+            }
+
+            @Override
+            public RuntimeVersionProvider next() {
+                throw new NoSuchElementException();
+            }
+        };
+        assertTrue(MinecraftVersions.loadRuntimeVersionProviders(broken).isEmpty());
+
+        List<RuntimeVersionProvider> providers = MinecraftVersions.loadRuntimeVersionProviders(List.of(new Fixed(), new Undecided()).iterator());
+        assertEquals(Undecided.class, providers.get(0).getClass());
+    }
+}
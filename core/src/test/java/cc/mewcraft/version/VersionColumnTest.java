@@ -0,0 +1,80 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VersionColumnTest {
+
+    @Test
+    public void testGetAndSet() {
+        VersionColumn column = new VersionColumn(new VersionDictionary(), 4);
+        column.set(0, MinecraftVersions.v1_20_4);
+        column.set(1, MinecraftVersion.parse("1.21-pre1"));
+        column.set(2, MinecraftVersions.v1_20_4);
+
+        assertEquals(MinecraftVersions.v1_20_4, column.get(0));
+        assertEquals(MinecraftVersion.parse("1.21-pre1"), column.get(1));
+        assertEquals(column.getId(0), column.getId(2));
+        assertNull(column.get(3));
+
+        column.set(0, null);
+        assertNull(column.get(0));
+    }
+
+    @Test
+    public void testCountsAndRanges() {
+        VersionColumn column = new VersionColumn(new VersionDictionary(), 6);
+        column.set(0, MinecraftVersions.v1_19_4);
+        column.set(1, MinecraftVersions.v1_20_4);
+        column.set(2, MinecraftVersions.v1_20_4);
+        column.set(3, MinecraftVersions.v1_21);
+        column.set(4, MinecraftVersions.v1_21_1);
+
+        Map<MinecraftVersion, Integer> counts = column.counts();
+        assertEquals(List.of(MinecraftVersions.v1_19_4, MinecraftVersions.v1_20_4, MinecraftVersions.v1_21, MinecraftVersions.v1_21_1), new ArrayList<>(counts.keySet()));
+        assertEquals(2, (int) counts.get(MinecraftVersions.v1_20_4));
+
+        List<Integer> matches = new ArrayList<>();
+        column.forEachInRange(MinecraftVersions.v1_20, MinecraftVersions.v1_21, matches::add);
+        assertEquals(List.of(1, 2, 3), matches);
+        assertEquals(3, column.countInRange(MinecraftVersions.v1_20, MinecraftVersions.v1_21));
+    }
+
+    @Test
+    public void testSpellingsShareId() {
+        // Different version strings, but the same key, so the same dictionary entry
+        MinecraftVersion snapshot = MinecraftVersion.parse("24w33a", true);
+        MinecraftVersion padded = MinecraftVersion.parse(" 24w33a", true);
+        VersionColumn column = new VersionColumn(3);
+        column.set(0, snapshot);
+        column.set(1, padded);
+        column.set(2, padded);
+        assertEquals(column.getId(0), column.getId(1));
+        assertEquals(2, column.dictionary().size());
+
+        assertEquals(Map.of(snapshot, 3), column.counts());
+    }
+
+    @Test
+    public void testVersionsWithoutKey() {
+        VersionDictionary dictionary = new VersionDictionary();
+        int id = dictionary.intern(MinecraftVersion.parse("1.20.4-foo"));
+        assertEquals(id, dictionary.intern(MinecraftVersion.parse("1.20.4-foo")));
+        assertNotEquals(id, dictionary.intern(MinecraftVersion.parse("1.20.4-bar")));
+    }
+
+    @Test
+    public void testColumnsHaveOwnDictionaries() {
+        VersionColumn first = new VersionColumn(1);
+        VersionColumn second = new VersionColumn(1);
+        first.set(0, MinecraftVersion.parse("1.20.4-foo"));
+        assertEquals(1, second.dictionary().size());
+    }
+}
@@ -0,0 +1,83 @@
+package cc.mewcraft.version;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated corpus of version strings, used to check alternative parsers against
+ * {@link MinecraftVersion#parse(String)}.
+ */
+final class VersionCorpus {
+
+    private VersionCorpus() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Generates the corpus.
+     * <p>
+     * It contains releases, pre-releases, release candidates and snapshots across a wide range
+     * of versions, as well as inputs that are expected to be rejected.
+     *
+     * @return the version strings
+     */
+    static List<String> generate() {
+        List<String> corpus = new ArrayList<>();
+
+        for (int minor = 0; minor <= 30; minor++) {
+            corpus.add("1." + minor);
+            for (int build = 0; build <= 10; build++) {
+                String release = "1." + minor + "." + build;
+                corpus.add(release);
+                for (int pre = 1; pre <= 10; pre++) {
+                    corpus.add(release + "-pre" + pre);
+                }
+                for (int rc = 1; rc <= 5; rc++) {
+                    corpus.add(release + "-rc" + rc);
+                }
+            }
+        }
+
+        for (int year = 17; year <= 26; year++) {
+            for (int week = 1; week <= 52; week++) {
+                for (char letter = 'a'; letter <= 'c'; letter++) {
+                    corpus.add(String.format("%02dw%02d%c", year, week, letter));
+                }
+            }
+        }
+
+        corpus.add("1");
+        corpus.add("2.0.0");
+        corpus.add("1.20.4.1");
+        corpus.add(" 1.20.4");
+        corpus.add("1.20.4 ");
+        corpus.add("1.20.");
+        corpus.add("1.20.4.");
+        corpus.add("1..");
+        corpus.add("+1.20");
+        corpus.add("1 . 20");
+        corpus.add("1.20.4 -pre1");
+        corpus.add("1.20.4.x");
+        corpus.add("1.21-pre10000000");
+        corpus.add(" 24w33a ");
+        corpus.add("24w33a -snapshot");
+
+        corpus.add("");
+        corpus.add("-");
+        corpus.add("1..2");
+        corpus.add("1.2.x");
+        corpus.add("abc");
+        corpus.add("24w60a");
+        corpus.add("24w33");
+        corpus.add("24w33A");
+        corpus.add("1.20.4-");
+        corpus.add("1.21-pre1 ");
+        corpus.add("1.21- pre1");
+        corpus.add(" 1.20. ");
+        corpus.add("...");
+        corpus.add("++1.20");
+        corpus.add("24w33a-pre1");
+
+        return corpus;
+    }
+}
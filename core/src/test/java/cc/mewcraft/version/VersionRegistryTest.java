@@ -0,0 +1,41 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VersionRegistryTest {
+
+    @Test
+    public void testOrdinals() {
+        for (int ordinal = 0; ordinal < VersionRegistry.size(); ordinal++) {
+            assertEquals(ordinal, VersionRegistry.ordinal(VersionRegistry.byOrdinal(ordinal)));
+        }
+        assertEquals(VersionRegistry.UNKNOWN, VersionRegistry.ordinal(MinecraftVersion.parse("1.16.5")));
+        assertEquals(VersionRegistry.UNKNOWN, VersionRegistry.ordinal(MinecraftVersion.parse("1.21-pre1")));
+        assertEquals(VersionRegistry.UNKNOWN, VersionRegistry.ordinal(MinecraftVersion.of(1, 20, 9)));
+    }
+
+    @Test
+    public void testNavigation() {
+        assertEquals(MinecraftVersions.v1_20_5, VersionRegistry.successor(MinecraftVersions.v1_20_4));
+        assertEquals(MinecraftVersions.v1_20_3, VersionRegistry.predecessor(MinecraftVersions.v1_20_4));
+        assertEquals(MinecraftVersions.v1_21, VersionRegistry.successor(MinecraftVersion.parse("1.21-pre1")));
+        assertEquals(MinecraftVersions.v1_20_6, VersionRegistry.predecessor(MinecraftVersion.parse("1.21-pre1")));
+        assertEquals(MinecraftVersions.v1_17, VersionRegistry.successor(MinecraftVersion.parse("1.16.5")));
+        assertNull(VersionRegistry.predecessor(MinecraftVersions.v1_17));
+        assertNull(VersionRegistry.successor(MinecraftVersion.parse("1.99")));
+    }
+
+    @Test
+    public void testNmsVersion() {
+        for (NmsVersion nmsVersion : NmsVersion.values()) {
+            for (MinecraftVersion minecraftVersion : nmsVersion.getMinecraftVersions()) {
+                assertEquals(nmsVersion, NmsVersion.forMinecraftVersion(minecraftVersion));
+            }
+        }
+        assertEquals(NmsVersion.NONE, NmsVersion.forMinecraftVersion(MinecraftVersion.parse("1.18.1")));
+        assertEquals(NmsVersion.NONE, NmsVersion.forMinecraftVersion(MinecraftVersion.parse("1.21-pre1")));
+    }
+}
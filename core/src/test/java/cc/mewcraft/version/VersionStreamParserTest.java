@@ -0,0 +1,113 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VersionStreamParserTest {
+
+    private static final String LINES = "1.20.4\n1.21-pre1\r\n\n  24w33a \nnot a version\n1.21.1";
+
+    private static List<Long> expectedKeys() {
+        return List.of(
+                VersionKey.of(MinecraftVersions.v1_20_4),
+                VersionKey.of(MinecraftVersion.parse("1.21-pre1")),
+                VersionKey.of(MinecraftVersion.parse("24w33a")),
+                VersionKey.INVALID,
+                VersionKey.of(MinecraftVersions.v1_21_1)
+        );
+    }
+
+    @Test
+    public void testBuffer() {
+        List<Long> keys = new ArrayList<>();
+        VersionStreamParser.lines().parse(ByteBuffer.wrap(LINES.getBytes(StandardCharsets.US_ASCII)), keys::add);
+        assertEquals(expectedKeys(), keys);
+    }
+
+    @Test
+    public void testCsv() {
+        String csv = "uuid,version,time\nabc,1.20.4,1\ndef,\"1.21-pre1\",2\nghi\n";
+        List<MinecraftVersion> versions = new ArrayList<>();
+        VersionStreamParser.csv(',', 1).parse(ByteBuffer.wrap(csv.getBytes(StandardCharsets.US_ASCII)), VersionStreamParser.versions(versions::add));
+        assertEquals(Arrays.asList(null, MinecraftVersions.v1_20_4, MinecraftVersion.parse("1.21-pre1"), null), versions);
+    }
+
+    @Test
+    public void testNonAsciiBytes() {
+        // The bytes of the \u00E9 are not whitespace, so the record is not blank, and the field is not padded
+        List<Long> keys = new ArrayList<>();
+        VersionStreamParser.lines().parse(ByteBuffer.wrap("1.20.4\n\u00E9\n".getBytes(StandardCharsets.UTF_8)), keys::add);
+        assertEquals(List.of(VersionKey.of(MinecraftVersions.v1_20_4), VersionKey.INVALID), keys);
+
+        keys.clear();
+        VersionStreamParser.csv(',', 1).parse(ByteBuffer.wrap("abc,\u00E91.20.4\u00E9,1".getBytes(StandardCharsets.UTF_8)), keys::add);
+        assertEquals(List.of(VersionKey.INVALID), keys);
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        // Enough data to span many chunks, with records crossing the chunk boundaries
+        StringBuilder data = new StringBuilder();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            data.append(LINES).append('\n');
+            expected.addAll(expectedKeys());
+        }
+
+        List<Long> keys = new ArrayList<>();
+        VersionStreamParser.lines().parse(Channels.newChannel(new ByteArrayInputStream(data.toString().getBytes(StandardCharsets.US_ASCII))), keys::add);
+        assertEquals(expected, keys);
+    }
+
+    @Test
+    public void testFileSplits() throws Exception {
+        Path file = Files.createTempFile("versions", ".log");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            StringBuilder data = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                data.append(LINES).append('\n');
+            }
+            Files.writeString(file, data, StandardCharsets.US_ASCII);
+
+            List<Long> single = new ArrayList<>();
+            VersionStreamParser.lines().parse(file, single::add);
+            assertEquals(5000, single.size());
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            List<Long>[] splits = new List[7];
+            VersionStreamParser.lines().parse(file, splits.length, executor, i -> (splits[i] = new ArrayList<>())::add).join();
+
+            List<Long> merged = new ArrayList<>();
+            for (List<Long> split : splits) {
+                merged.addAll(split);
+            }
+            assertEquals(single, merged);
+        } finally {
+            executor.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testNonAsciiIsNotWhitespace() {
+        // A UTF-8 no-break space after the version; as signed bytes these are below ' '
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{'1', '.', '2', '0', '.', '4', (byte) 0xC2, (byte) 0xA0});
+        assertEquals(VersionKey.INVALID, VersionKey.parse(buffer, 0, buffer.limit()));
+        assertEquals(VersionKey.of(MinecraftVersions.v1_20_4), VersionKey.parse(buffer, 0, 6));
+    }
+}
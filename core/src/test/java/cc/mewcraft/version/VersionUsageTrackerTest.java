@@ -0,0 +1,64 @@
+package cc.mewcraft.version;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class VersionUsageTrackerTest {
+
+    @Test
+    public void testBuckets() {
+        VersionUsageTracker tracker = new VersionUsageTracker(4);
+        tracker.increment(MinecraftVersions.v1_20_5);
+        tracker.increment(MinecraftVersions.v1_20_6);
+        tracker.increment(MinecraftVersions.v1_20_6);
+        tracker.increment(MinecraftVersions.v1_21);
+        tracker.increment(MinecraftVersion.of(1, 16, 5));
+        tracker.increment(MinecraftVersion.parse("1.21-pre1"));
+        tracker.decrement(MinecraftVersions.v1_21);
+        tracker.add(VersionRegistry.ordinal(MinecraftVersions.v1_19_4), 3);
+
+        VersionUsageTracker.Snapshot snapshot = tracker.snapshot();
+        assertEquals(2, snapshot.get(MinecraftVersions.v1_20_6));
+        assertEquals(0, snapshot.get(MinecraftVersions.v1_21));
+        assertEquals(2, snapshot.unknown());
+        assertEquals(8, snapshot.total());
+        assertEquals(3, snapshot.count(NmsVersion.v1_20_R4));
+        assertEquals(6, snapshot.count(MinecraftVersions.v1_19_4, MinecraftVersions.v1_20_6));
+        assertEquals(Map.of(NmsVersion.v1_19_R3, 3L, NmsVersion.v1_20_R4, 3L), snapshot.byNmsVersion());
+        assertEquals(List.of(MinecraftVersions.v1_19_4, MinecraftVersions.v1_20_5, MinecraftVersions.v1_20_6), List.copyOf(snapshot.byVersion().keySet()));
+
+        assertThrows(IllegalArgumentException.class, () -> tracker.add(VersionRegistry.size(), 1));
+        assertThrows(IllegalArgumentException.class, () -> new VersionUsageTracker(0));
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws InterruptedException {
+        VersionUsageTracker tracker = new VersionUsageTracker();
+        int threads = 8;
+        int increments = 10_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                for (int j = 0; j < increments; j++) {
+                    tracker.increment(MinecraftVersions.v1_21);
+                    tracker.increment(MinecraftVersion.of(1, 8, 8));
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        VersionUsageTracker.Snapshot snapshot = tracker.snapshot();
+        assertEquals((long) threads * increments, snapshot.get(MinecraftVersions.v1_21));
+        assertEquals((long) threads * increments, snapshot.unknown());
+    }
+}
@@ -0,0 +1,15 @@
+package net.minecraft;
+
+/**
+ * Stand-in for a server internal class with a static initializer, to tell whether class probing initializes it.
+ */
+public final class InitializationFixture {
+    public static final String INITIALIZED_PROPERTY = "minecraft-versions.test.initialized";
+
+    static {
+        System.setProperty(INITIALIZED_PROPERTY, "true");
+    }
+
+    private InitializationFixture() {
+    }
+}
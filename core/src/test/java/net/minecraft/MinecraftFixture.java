@@ -0,0 +1,9 @@
+package net.minecraft;
+
+/**
+ * Stand-in for a server internal class, so that NMS class lookups have something to resolve in tests.
+ */
+public final class MinecraftFixture {
+    private MinecraftFixture() {
+    }
+}
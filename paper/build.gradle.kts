@@ -0,0 +1,9 @@
+plugins {
+    `java-library`
+}
+
+dependencies {
+    api(project(":core"))
+    compileOnly("io.papermc.paper", "paper-api", "1.20.4-R0.1-SNAPSHOT")
+    testImplementation("com.github.seeseemelk:MockBukkit-v1.20:3.86.0")
+}
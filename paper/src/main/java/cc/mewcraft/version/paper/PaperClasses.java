@@ -0,0 +1,93 @@
+package cc.mewcraft.version.paper;
+
+import cc.mewcraft.version.NmsVersion;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Probes NMS and OBC classes through the class loader of the server.
+ * <p>
+ * The probes of {@link NmsVersion} look up class files as resources of a class loader. The
+ * class loader of a plugin which shades this library only finds the resources of the plugin
+ * itself, so every server class would be reported missing. These methods use the class loader
+ * of the server instead.
+ */
+@DefaultQualifier(NonNull.class)
+public final class PaperClasses {
+
+    private PaperClasses() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the class loader of the server, which loaded the NMS and OBC classes.
+     *
+     * @return the class loader of the server
+     * @throws IllegalStateException if the server is not running
+     */
+    public static ClassLoader serverClassLoader() {
+        Server server = Bukkit.getServer();
+        if (server == null) {
+            throw new IllegalStateException("The server is not running");
+        }
+        ClassLoader loader = server.getClass().getClassLoader();
+        return loader != null ? loader : ClassLoader.getSystemClassLoader();
+    }
+
+    /**
+     * Gets if the NMS class with the given name exists in the server, without loading it.
+     *
+     * @param version   the NMS version
+     * @param className the name of the class
+     * @return if the class exists
+     * @see NmsVersion#hasNmsClass(String, ClassLoader)
+     */
+    public static boolean hasNmsClass(NmsVersion version, String className) {
+        Objects.requireNonNull(version, "version");
+        return version.hasNmsClass(className, serverClassLoader());
+    }
+
+    /**
+     * Gets if the OBC class with the given name exists in the server, without loading it.
+     *
+     * @param version   the NMS version
+     * @param className the name of the class
+     * @return if the class exists
+     * @see NmsVersion#hasObcClass(String, ClassLoader)
+     */
+    public static boolean hasObcClass(NmsVersion version, String className) {
+        Objects.requireNonNull(version, "version");
+        return version.hasObcClass(className, serverClassLoader());
+    }
+
+    /**
+     * Gets which of the given NMS classes don't exist in the server, without loading any of them.
+     *
+     * @param version    the NMS version
+     * @param classNames the names of the classes
+     * @return the names of the classes which don't exist, in iteration order
+     * @see NmsVersion#missingNmsClasses(Iterable, ClassLoader)
+     */
+    public static Set<String> missingNmsClasses(NmsVersion version, Iterable<String> classNames) {
+        Objects.requireNonNull(version, "version");
+        return version.missingNmsClasses(classNames, serverClassLoader());
+    }
+
+    /**
+     * Gets which of the given OBC classes don't exist in the server, without loading any of them.
+     *
+     * @param version    the NMS version
+     * @param classNames the names of the classes
+     * @return the names of the classes which don't exist, in iteration order
+     * @see NmsVersion#missingObcClasses(Iterable, ClassLoader)
+     */
+    public static Set<String> missingObcClasses(NmsVersion version, Iterable<String> classNames) {
+        Objects.requireNonNull(version, "version");
+        return version.missingObcClasses(classNames, serverClassLoader());
+    }
+}
@@ -0,0 +1,30 @@
+package cc.mewcraft.version.paper;
+
+import cc.mewcraft.version.MinecraftVersion;
+import cc.mewcraft.version.RuntimeVersionProvider;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Detects the runtime version by asking the Paper server.
+ * <p>
+ * We are following the best practice from the Paper announcement:
+ * https://forums.papermc.io/threads/important-dev-psa-future-removal-of-cb-package-relocation.1106/
+ * That is, the version comes from {@link Bukkit#getMinecraftVersion()}, not from the OBC package name.
+ */
+@DefaultQualifier(NonNull.class)
+public final class PaperRuntimeVersionProvider implements RuntimeVersionProvider {
+
+    @Override
+    public @Nullable MinecraftVersion detect() {
+        Server server = Bukkit.getServer();
+
+        if (server == null) { // in test environment, this could be null
+            return null;
+        }
+        return MinecraftVersion.parse(Bukkit.getMinecraftVersion());
+    }
+}
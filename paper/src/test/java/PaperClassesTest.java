@@ -0,0 +1,37 @@
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import cc.mewcraft.version.NmsVersion;
+import cc.mewcraft.version.paper.PaperClasses;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PaperClassesTest {
+    private ServerMock server;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    public void testServerClassLoader() {
+        assertSame(server.getClass().getClassLoader(), PaperClasses.serverClassLoader());
+
+        NmsVersion version = NmsVersion.v1_20_R4;
+        assertFalse(PaperClasses.hasObcClass(version, "DoesNotExist"));
+        assertEquals(Set.of("DoesNotExist"), PaperClasses.missingObcClasses(version, List.of("DoesNotExist")));
+    }
+}
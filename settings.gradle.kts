@@ -1,2 +1,4 @@
 rootProject.name = "minecraft-versions"
 
+include("core")
+include("paper")